@@ -0,0 +1,77 @@
+package com.juancasterba.taskflow_api.benchmark;
+
+import com.juancasterba.taskflow_api.dto.TaskResponseDTO;
+import com.juancasterba.taskflow_api.model.Project;
+import com.juancasterba.taskflow_api.model.Status;
+import com.juancasterba.taskflow_api.model.Task;
+import com.juancasterba.taskflow_api.security.model.Role;
+import com.juancasterba.taskflow_api.security.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builders for the in-memory domain objects shared by the benchmarks.
+ * Values are deterministic so results are comparable between runs.
+ */
+final class BenchmarkFixtures {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(long id, String username, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3ZC6rX0Tq4dYQ6p1y2nV5m.");
+        user.setRole(role);
+        return user;
+    }
+
+    static Task task(long id, Project project) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task number " + id);
+        task.setDescription("Description of the task number " + id + " used for benchmarking the mappers.");
+        task.setCompleted(id % 3 == 0);
+        task.setStatus(id % 10 == 0 ? Status.ARCHIVED : Status.ACTIVE);
+        task.setCreatedAt(NOW.minusDays(id));
+        task.setUpdatedAt(NOW);
+        task.setProject(project);
+        return task;
+    }
+
+    static Project project(long id, User owner, int taskCount) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName("Project " + id);
+        project.setDescription("A project with " + taskCount + " tasks.");
+        project.setOwner(owner);
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 1; i <= taskCount; i++) {
+            tasks.add(task(i, project));
+        }
+        project.setTasks(tasks);
+        return project;
+    }
+
+    static List<TaskResponseDTO> taskDTOs(int count) {
+        List<TaskResponseDTO> dtos = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            dtos.add(TaskResponseDTO.builder()
+                    .id((long) i)
+                    .title("Task number " + i)
+                    .description("Description of the task number " + i + " used for benchmarking serialization.")
+                    .completed(i % 3 == 0)
+                    .status(Status.ACTIVE.name())
+                    .createdAt(NOW.minusDays(i))
+                    .updatedAt(NOW)
+                    .build());
+        }
+        return dtos;
+    }
+}
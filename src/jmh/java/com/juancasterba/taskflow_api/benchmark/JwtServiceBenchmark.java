@@ -0,0 +1,77 @@
+package com.juancasterba.taskflow_api.benchmark;
+
+import com.juancasterba.taskflow_api.security.model.Role;
+import com.juancasterba.taskflow_api.security.model.User;
+import com.juancasterba.taskflow_api.security.service.jwt.AccessToken;
+import com.juancasterba.taskflow_api.security.service.jwt.JwtKeyRing;
+import com.juancasterba.taskflow_api.security.service.jwt.JwtServiceImpl;
+import com.juancasterba.taskflow_api.security.service.jwt.JwtSigningKey;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and verification as performed on every login and every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET_KEY = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+    private static final String SESSION_ID = "7f1c2a9e-3b4d-4e5f-8a6b-9c0d1e2f3a4b";
+
+    @Param({"HS384", "EdDSA", "ES256"})
+    private String algorithm;
+
+    private JwtServiceImpl jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        jwtService = new JwtServiceImpl(keyRing(algorithm));
+        user = BenchmarkFixtures.user(1L, "john.doe", Role.USER);
+        token = jwtService.generateToken(user, SESSION_ID);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user, SESSION_ID);
+    }
+
+    @Benchmark
+    public AccessToken parseAccessToken() {
+        return jwtService.parseAccessToken(token);
+    }
+
+    private static JwtKeyRing keyRing(String algorithm) throws Exception {
+        JwtSigningKey key = switch (algorithm) {
+            case "EdDSA" -> {
+                KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+                yield JwtSigningKey.asymmetric("bench-ed", algorithm, keyPair.getPrivate(), keyPair.getPublic());
+            }
+            case "ES256" -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                KeyPair keyPair = generator.generateKeyPair();
+                yield JwtSigningKey.asymmetric("bench-ec", algorithm, keyPair.getPrivate(), keyPair.getPublic());
+            }
+            default -> {
+                SecretKey secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+                yield new JwtSigningKey(null, secretKey.getAlgorithm(), secretKey, secretKey);
+            }
+        };
+        return new JwtKeyRing(key, List.of(key));
+    }
+}
@@ -0,0 +1,45 @@
+package com.juancasterba.taskflow_api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juancasterba.taskflow_api.dto.TaskResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a page of tasks, as written by the listing endpoints.
+ * Pages are wrapped in {@link PagedModel} because the application serializes
+ * {@code Page} instances through DTOs (see {@code WebConfig}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PagedModel<TaskResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to its auto-configured ObjectMapper.
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        page = new PagedModel<>(new PageImpl<>(
+                BenchmarkFixtures.taskDTOs(pageSize), PageRequest.of(0, pageSize), pageSize * 10L));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
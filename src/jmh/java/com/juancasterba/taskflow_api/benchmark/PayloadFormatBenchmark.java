@@ -0,0 +1,65 @@
+package com.juancasterba.taskflow_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.juancasterba.taskflow_api.dto.TaskResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and reading a page of tasks in each of the formats the API negotiates (JSON, CBOR
+ * and Smile). The resulting payload sizes are listed in the README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PagedModel<TaskResponseDTO> page;
+    private byte[] payload;
+
+    // What a caller deserializes a page into.
+    record TaskPage(List<TaskResponseDTO> content, PagedModel.PageMetadata page) {
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        // Dates as ISO strings, as in the API responses.
+        objectMapper = builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        page = new PagedModel<>(new PageImpl<>(
+                BenchmarkFixtures.taskDTOs(pageSize), PageRequest.of(0, pageSize), pageSize * 10L));
+        payload = objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public TaskPage deserialize() throws IOException {
+        return objectMapper.readValue(payload, TaskPage.class);
+    }
+}
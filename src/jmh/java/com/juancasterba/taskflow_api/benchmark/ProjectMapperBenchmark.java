@@ -0,0 +1,60 @@
+package com.juancasterba.taskflow_api.benchmark;
+
+import com.juancasterba.taskflow_api.dto.ProjectResponseDTO;
+import com.juancasterba.taskflow_api.mapper.ProjectMapper;
+import com.juancasterba.taskflow_api.mapper.TaskMapper;
+import com.juancasterba.taskflow_api.model.Project;
+import com.juancasterba.taskflow_api.security.model.Role;
+import com.juancasterba.taskflow_api.security.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of a project entity to its DTO. {@code toProjectDTO} maps every task of the
+ * project, so it is measured over projects of increasing size, both for a regular user
+ * (archived tasks are filtered out) and for an admin (all tasks are mapped).
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectMapperBenchmark {
+
+    @Param({"0", "10", "100", "1000"})
+    private int taskCount;
+
+    @Param({"USER", "ADMIN"})
+    private Role callerRole;
+
+    private ProjectMapper projectMapper;
+    private Project project;
+
+    @Setup
+    public void setUp() {
+        // The EntityManager is not used while mapping.
+        projectMapper = new ProjectMapper(new TaskMapper(), null);
+
+        User owner = BenchmarkFixtures.user(1L, "john.doe", Role.USER);
+        project = BenchmarkFixtures.project(1L, owner, taskCount);
+
+        // The mapper reads the caller's role from the security context of the current thread.
+        User caller = callerRole == Role.ADMIN ? BenchmarkFixtures.user(2L, "admin", Role.ADMIN) : owner;
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(caller, null, caller.getAuthorities()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public ProjectResponseDTO toProjectDTO() {
+        return projectMapper.toProjectDTO(project);
+    }
+}
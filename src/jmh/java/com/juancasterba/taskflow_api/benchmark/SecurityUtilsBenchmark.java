@@ -0,0 +1,59 @@
+package com.juancasterba.taskflow_api.benchmark;
+
+import com.juancasterba.taskflow_api.config.SecurityUtils;
+import com.juancasterba.taskflow_api.exception.ForbiddenAccessException;
+import com.juancasterba.taskflow_api.model.Project;
+import com.juancasterba.taskflow_api.security.model.Role;
+import com.juancasterba.taskflow_api.security.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ownership check run by every project and task operation, for the owner,
+ * an admin and a user that is denied access (which pays for the exception).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityUtilsBenchmark {
+
+    private SecurityUtils securityUtils;
+    private Project project;
+    private User owner;
+    private User admin;
+    private User stranger;
+
+    @Setup
+    public void setUp() {
+        // The repository is only needed to resolve the current user, not for the ownership check.
+        securityUtils = new SecurityUtils(null);
+        owner = BenchmarkFixtures.user(1L, "john.doe", Role.USER);
+        admin = BenchmarkFixtures.user(2L, "admin", Role.ADMIN);
+        stranger = BenchmarkFixtures.user(3L, "jane.doe", Role.USER);
+        project = BenchmarkFixtures.project(1L, owner, 0);
+    }
+
+    @Benchmark
+    public void checkOwner() {
+        securityUtils.checkOwnershipOrAdmin(project, owner);
+    }
+
+    @Benchmark
+    public void checkAdmin() {
+        securityUtils.checkOwnershipOrAdmin(project, admin);
+    }
+
+    @Benchmark
+    public boolean checkForbidden() {
+        try {
+            securityUtils.checkOwnershipOrAdmin(project, stranger);
+            return true;
+        } catch (ForbiddenAccessException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.juancasterba.taskflow_api.benchmark;
+
+import com.juancasterba.taskflow_api.dto.TaskResponseDTO;
+import com.juancasterba.taskflow_api.mapper.TaskMapper;
+import com.juancasterba.taskflow_api.model.Task;
+import com.juancasterba.taskflow_api.security.model.Role;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of a single task entity to its DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    private TaskMapper taskMapper;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        taskMapper = new TaskMapper();
+        task = BenchmarkFixtures.task(1L, BenchmarkFixtures.project(1L, BenchmarkFixtures.user(1L, "john.doe", Role.USER), 0));
+    }
+
+    @Benchmark
+    public TaskResponseDTO toTaskDTO() {
+        return taskMapper.toTaskDTO(task);
+    }
+}
@@ -0,0 +1,73 @@
+package com.juancasterba.taskflow_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Thin blocking HTTP client for the endpoints exercised by the load test.
+ */
+class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+
+    ApiClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+    }
+
+    HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET().build());
+    }
+
+    HttpResponse<String> post(String path, String token, Object body) throws IOException, InterruptedException {
+        return send(request(path, token).POST(json(body)).build());
+    }
+
+    HttpResponse<String> put(String path, String token, Object body) throws IOException, InterruptedException {
+        return send(request(path, token).PUT(json(body)).build());
+    }
+
+    String login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = post("/api/v1/auth/login", null, Map.of("username", username, "password", password));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": HTTP " + response.statusCode());
+        }
+        return readTree(response).get("token").asText();
+    }
+
+    JsonNode readTree(HttpResponse<String> response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
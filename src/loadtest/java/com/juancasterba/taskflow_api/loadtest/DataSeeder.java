@@ -0,0 +1,127 @@
+package com.juancasterba.taskflow_api.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeds users, projects and tasks straight through JDBC batches, so that a run
+ * starts from the same data set regardless of how fast the API is. Every user
+ * shares the same password, hashed once with the application's encoder.
+ */
+class DataSeeder {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final LoadTestConfig config;
+
+    DataSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, LoadTestConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.config = config;
+    }
+
+    SeededData seed() {
+        Random random = new Random(config.seed());
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        String passwordHash = passwordEncoder.encode(LoadTestConfig.PASSWORD);
+
+        List<Object[]> userRows = new ArrayList<>();
+        List<String> usernames = new ArrayList<>();
+        for (int u = 0; u < config.users(); u++) {
+            String username = "lt-" + runId + "-user-" + u;
+            usernames.add(username);
+            userRows.add(new Object[]{username, username + "@loadtest.local", passwordHash, "USER"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, role) VALUES (?, ?, ?, ?)", userRows);
+        Map<String, Long> userIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, username FROM users WHERE username LIKE ?",
+                rs -> { userIds.put(rs.getString("username"), rs.getLong("id")); },
+                "lt-" + runId + "-%");
+
+        List<Object[]> projectRows = new ArrayList<>();
+        for (String username : usernames) {
+            for (int p = 0; p < config.projectsPerUser(); p++) {
+                projectRows.add(new Object[]{"Project " + p + " of " + username, "Seeded project for load testing.", userIds.get(username), "ACTIVE"});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO projects (name, description, owner_id, status) VALUES (?, ?, ?, ?)", projectRows);
+
+        Map<Long, List<Long>> projectsByUser = new HashMap<>();
+        jdbcTemplate.query("SELECT p.id, p.owner_id FROM projects p JOIN users u ON u.id = p.owner_id WHERE u.username LIKE ? ORDER BY p.id",
+                rs -> { projectsByUser.computeIfAbsent(rs.getLong("owner_id"), k -> new ArrayList<>()).add(rs.getLong("id")); },
+                "lt-" + runId + "-%");
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> taskRows = new ArrayList<>(BATCH_SIZE);
+        for (List<Long> projectIds : projectsByUser.values()) {
+            for (Long projectId : projectIds) {
+                for (int t = 0; t < config.tasksPerProject(); t++) {
+                    Timestamp created = Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 90)));
+                    taskRows.add(new Object[]{
+                            "Task " + t + " " + randomWord(random), "Seeded task used by the load test.",
+                            random.nextInt(4) == 0, "ACTIVE", projectId, created, created
+                    });
+                    if (taskRows.size() == BATCH_SIZE) {
+                        insertTasks(taskRows);
+                        taskRows.clear();
+                    }
+                }
+            }
+        }
+        insertTasks(taskRows);
+        // The tasks bypass the API, so the project task counters are set here.
+        jdbcTemplate.update("""
+                UPDATE projects p SET total_tasks = c.total, open_tasks = c.open, completed_tasks = c.completed
+                FROM (SELECT t.project_id, count(*) AS total,
+                             count(*) FILTER (WHERE NOT t.completed) AS open,
+                             count(*) FILTER (WHERE t.completed) AS completed
+                      FROM tasks t JOIN projects pr ON pr.id = t.project_id JOIN users u ON u.id = pr.owner_id
+                      WHERE u.username LIKE ?
+                      GROUP BY t.project_id) c
+                WHERE p.id = c.project_id""", "lt-" + runId + "-%");
+
+        Map<Long, List<Long>> tasksByProject = new HashMap<>();
+        jdbcTemplate.query("SELECT t.id, t.project_id FROM tasks t JOIN projects p ON p.id = t.project_id JOIN users u ON u.id = p.owner_id WHERE u.username LIKE ?",
+                rs -> { tasksByProject.computeIfAbsent(rs.getLong("project_id"), k -> new ArrayList<>()).add(rs.getLong("id")); },
+                "lt-" + runId + "-%");
+
+        List<SeededData.SeededUser> users = new ArrayList<>();
+        for (String username : usernames) {
+            List<Long> projectIds = projectsByUser.getOrDefault(userIds.get(username), List.of());
+            Map<Long, List<Long>> tasks = new HashMap<>();
+            projectIds.forEach(id -> tasks.put(id, tasksByProject.getOrDefault(id, List.of())));
+            users.add(new SeededData.SeededUser(username, projectIds, tasks));
+        }
+        return new SeededData(users);
+    }
+
+    private void insertTasks(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO tasks (title, description, completed, status, project_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                rows);
+    }
+
+    private static String randomWord(Random random) {
+        String[] words = {"backend", "frontend", "database", "deploy", "review", "design", "testing", "docs"};
+        return words[random.nextInt(words.length)];
+    }
+
+    record SeededData(List<SeededUser> users) {
+
+        record SeededUser(String username, List<Long> projectIds, Map<Long, List<Long>> taskIdsByProject) {
+        }
+    }
+}
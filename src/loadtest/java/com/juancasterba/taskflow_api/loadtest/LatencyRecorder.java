@@ -0,0 +1,81 @@
+package com.juancasterba.taskflow_api.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-endpoint latency samples of one worker thread. Workers record without any
+ * synchronization and the recorders are merged once the run is over.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new TreeMap<>();
+
+    void record(String endpoint, long nanos, boolean success) {
+        samples.computeIfAbsent(endpoint, k -> new Samples()).add(nanos, success);
+    }
+
+    void mergeInto(LatencyRecorder target) {
+        samples.forEach((endpoint, s) -> target.samples.computeIfAbsent(endpoint, k -> new Samples()).addAll(s));
+    }
+
+    /**
+     * Computes the statistics of every endpoint for a measurement window of the given length.
+     */
+    Map<String, EndpointStats> stats(double seconds) {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        samples.forEach((endpoint, s) -> stats.put(endpoint, s.stats(seconds)));
+        return stats;
+    }
+
+    record EndpointStats(long requests, long errors, double throughput,
+                         double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+
+    private static final class Samples {
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long nanos, boolean success) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i], true);
+            }
+            errors += other.errors;
+        }
+
+        EndpointStats stats(double seconds) {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return new EndpointStats(size, errors, size / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    size == 0 ? 0 : toMillis(sorted[size - 1]));
+        }
+
+        // Nearest-rank percentile.
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return toMillis(sorted[Math.max(rank - 1, 0)]);
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
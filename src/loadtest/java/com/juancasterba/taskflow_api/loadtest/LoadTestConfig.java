@@ -0,0 +1,47 @@
+package com.juancasterba.taskflow_api.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Parameters of a load test run, read from {@code loadtest.*} system properties.
+ * Defaults describe a small but realistic data set and a short run; keep them fixed
+ * when comparing results between commits.
+ */
+record LoadTestConfig(
+        int users,
+        int projectsPerUser,
+        int tasksPerProject,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        String jdbcUrl,
+        String jdbcUsername,
+        String jdbcPassword,
+        Path outputDirectory,
+        Path baseline,
+        double maxRegression
+) {
+
+    static final String PASSWORD = "load-test-password";
+
+    static LoadTestConfig fromSystemProperties() {
+        String baseline = System.getProperty("loadtest.baseline");
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.users", 50),
+                Integer.getInteger("loadtest.projects-per-user", 5),
+                Integer.getInteger("loadtest.tasks-per-project", 40),
+                Integer.getInteger("loadtest.concurrency", 16),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration", 60)),
+                Long.getLong("loadtest.seed", 42),
+                System.getProperty("loadtest.jdbc-url"),
+                System.getProperty("loadtest.jdbc-username", "postgres"),
+                System.getProperty("loadtest.jdbc-password", "postgres"),
+                Path.of(System.getProperty("loadtest.output", "target/loadtest")),
+                baseline != null ? Path.of(baseline) : null,
+                Double.parseDouble(System.getProperty("loadtest.max-regression", "0.20"))
+        );
+    }
+}
@@ -0,0 +1,112 @@
+package com.juancasterba.taskflow_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.juancasterba.taskflow_api.loadtest.LatencyRecorder.EndpointStats;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints the results of a run, stores them as JSON tagged with the current commit and
+ * compares them with a previous run when a baseline is given.
+ */
+class LoadTestReport {
+
+    // Endpoints with fewer samples than this are too noisy to flag as regressions.
+    private static final long MIN_SAMPLES_FOR_COMPARISON = 50;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final LoadTestConfig config;
+    private final Map<String, EndpointStats> endpoints;
+    private final double measuredSeconds;
+
+    LoadTestReport(LoadTestConfig config, Map<String, EndpointStats> endpoints, double measuredSeconds) {
+        this.config = config;
+        this.endpoints = endpoints;
+        this.measuredSeconds = measuredSeconds;
+    }
+
+    void print() {
+        System.out.printf("%n%-36s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        endpoints.forEach((endpoint, s) -> System.out.printf("%-36s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, s.requests(), s.errors(), s.throughput(), s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs()));
+    }
+
+    Path write() throws IOException {
+        String commit = currentCommit();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commit", commit);
+        report.put("timestamp", LocalDateTime.now().toString());
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("users", config.users());
+        parameters.put("projectsPerUser", config.projectsPerUser());
+        parameters.put("tasksPerProject", config.tasksPerProject());
+        parameters.put("concurrency", config.concurrency());
+        parameters.put("warmupSeconds", config.warmup().toSeconds());
+        parameters.put("durationSeconds", config.duration().toSeconds());
+        parameters.put("seed", config.seed());
+        report.put("config", parameters);
+        report.put("measuredSeconds", measuredSeconds);
+        report.put("endpoints", endpoints);
+
+        Files.createDirectories(config.outputDirectory());
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = config.outputDirectory().resolve("loadtest-" + timestamp + "-" + commit + ".json");
+        objectMapper.writeValue(file.toFile(), report);
+        objectMapper.writeValue(config.outputDirectory().resolve("latest.json").toFile(), report);
+        return file;
+    }
+
+    /**
+     * Compares p95 and p99 latencies of every endpoint against a previous report.
+     *
+     * @return The endpoints whose latency grew more than the allowed regression.
+     */
+    List<String> compareWith(Path baseline) throws IOException {
+        JsonNode previous = objectMapper.readTree(baseline.toFile()).get("endpoints");
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%nComparison with %s (max allowed regression %.0f%%)%n", baseline, config.maxRegression() * 100);
+        endpoints.forEach((endpoint, current) -> {
+            JsonNode before = previous.get(endpoint);
+            if (before == null || current.requests() < MIN_SAMPLES_FOR_COMPARISON) {
+                return;
+            }
+            double p95Change = change(before.get("p95Ms").asDouble(), current.p95Ms());
+            double p99Change = change(before.get("p99Ms").asDouble(), current.p99Ms());
+            boolean regressed = p95Change > config.maxRegression() || p99Change > config.maxRegression();
+            System.out.printf("%-36s p95 %+7.1f%%  p99 %+7.1f%%%s%n", endpoint, p95Change * 100, p99Change * 100,
+                    regressed ? "  REGRESSION" : "");
+            if (regressed) {
+                regressions.add(endpoint);
+            }
+        });
+        return regressions;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before;
+    }
+
+    private static String currentCommit() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readAllBytes()).trim();
+            return process.waitFor() == 0 && !output.isEmpty() ? output : "unknown";
+        } catch (IOException ex) {
+            return "unknown";
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+}
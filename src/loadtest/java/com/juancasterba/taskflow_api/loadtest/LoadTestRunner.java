@@ -0,0 +1,133 @@
+package com.juancasterba.taskflow_api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juancasterba.taskflow_api.TaskflowApiApplication;
+import com.juancasterba.taskflow_api.loadtest.DataSeeder.SeededData;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Entry point of the end-to-end load test.
+ *
+ * <ol>
+ *     <li>Starts an embedded Kafka broker and a PostgreSQL container (or uses the database
+ *     given through {@code loadtest.jdbc-url}).</li>
+ *     <li>Boots the application on a random port with the {@code loadtest} profile.</li>
+ *     <li>Seeds users, projects and tasks.</li>
+ *     <li>Runs {@code loadtest.concurrency} virtual users for the warmup plus the measured duration.</li>
+ *     <li>Prints and stores per-endpoint throughput and p50/p95/p99 latencies, optionally failing
+ *     when they regress compared to {@code loadtest.baseline}.</li>
+ * </ol>
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        int exitCode;
+
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, 1, "tasks-events");
+        kafka.afterPropertiesSet();
+        PostgreSQLContainer<?> postgres = null;
+        ConfigurableApplicationContext application = null;
+        try {
+            String jdbcUrl = config.jdbcUrl();
+            String jdbcUsername = config.jdbcUsername();
+            String jdbcPassword = config.jdbcPassword();
+            if (jdbcUrl == null) {
+                postgres = new PostgreSQLContainer<>("postgres:16-bookworm");
+                postgres.start();
+                jdbcUrl = postgres.getJdbcUrl();
+                jdbcUsername = postgres.getUsername();
+                jdbcPassword = postgres.getPassword();
+            }
+
+            application = new SpringApplicationBuilder(TaskflowApiApplication.class).run(
+                    "--spring.profiles.active=loadtest",
+                    "--server.port=0",
+                    "--spring.datasource.url=" + jdbcUrl,
+                    "--spring.datasource.username=" + jdbcUsername,
+                    "--spring.datasource.password=" + jdbcPassword,
+                    "--spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString());
+            int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+
+            System.out.println("Seeding data...");
+            SeededData data = new DataSeeder(
+                    application.getBean(JdbcTemplate.class), application.getBean(PasswordEncoder.class), config).seed();
+
+            System.out.printf("Running %d virtual users for %ds (+%ds warmup)...%n",
+                    config.concurrency(), config.duration().toSeconds(), config.warmup().toSeconds());
+            LatencyRecorder results = run(config, data, "http://localhost:" + port);
+
+            LoadTestReport report = new LoadTestReport(config, results.stats(config.duration().toMillis() / 1000.0),
+                    config.duration().toMillis() / 1000.0);
+            report.print();
+            Path file = report.write();
+            System.out.println("\nReport written to " + file);
+
+            exitCode = 0;
+            if (config.baseline() != null) {
+                List<String> regressions = report.compareWith(config.baseline());
+                if (!regressions.isEmpty()) {
+                    System.out.println("\nLatency regressions detected in: " + String.join(", ", regressions));
+                    exitCode = 1;
+                }
+            }
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+            if (postgres != null) {
+                postgres.stop();
+            }
+            kafka.destroy();
+        }
+        System.exit(exitCode);
+    }
+
+    private static LatencyRecorder run(LoadTestConfig config, SeededData data, String baseUrl) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(config.concurrency()))
+                .build();
+        ApiClient client = new ApiClient(httpClient, new ObjectMapper(), baseUrl);
+
+        long start = System.nanoTime();
+        long warmupEnd = start + config.warmup().toNanos();
+        long end = warmupEnd + config.duration().toNanos();
+
+        List<Workload> workloads = new ArrayList<>();
+        for (int i = 0; i < config.concurrency(); i++) {
+            SeededData.SeededUser user = data.users().get(i % data.users().size());
+            workloads.add(new Workload(client, user, config.seed() + i, warmupEnd, end));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.concurrency());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            workloads.forEach(workload -> futures.add(executor.submit(workload)));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LatencyRecorder merged = new LatencyRecorder();
+        workloads.forEach(workload -> workload.recorder().mergeInto(merged));
+        return merged;
+    }
+}
@@ -0,0 +1,143 @@
+package com.juancasterba.taskflow_api.loadtest;
+
+import com.juancasterba.taskflow_api.loadtest.DataSeeder.SeededData.SeededUser;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * One virtual user of the load test. It logs in as a seeded user and then runs a weighted
+ * mix of operations until the end of the run. Only operations started after the warmup
+ * are recorded.
+ */
+class Workload implements Runnable {
+
+    /**
+     * Operations of the mix and their relative weights.
+     */
+    enum Operation {
+        LOGIN("POST /api/v1/auth/login", 5),
+        LIST_PROJECTS("GET /api/v1/projects", 20),
+        PAGE_TASKS("GET /api/v1/projects/{id}/tasks", 30),
+        INBOX("GET /api/v1/tasks/inbox", 10),
+        GET_TASK("GET /api/v1/tasks/{id}", 10),
+        CREATE_TASK("POST /api/v1/projects/{id}/tasks", 15),
+        UPDATE_TASK("PUT /api/v1/tasks/{id}", 10);
+
+        final String endpoint;
+        final int weight;
+
+        Operation(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+    }
+
+    private static final int TOTAL_WEIGHT = java.util.Arrays.stream(Operation.values()).mapToInt(op -> op.weight).sum();
+    private static final int PAGE_SIZE = 20;
+
+    private final ApiClient client;
+    private final SeededUser user;
+    private final Random random;
+    private final long warmupEndNanos;
+    private final long endNanos;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final Map<Long, List<Long>> taskIdsByProject = new HashMap<>();
+    private String token;
+
+    Workload(ApiClient client, SeededUser user, long seed, long warmupEndNanos, long endNanos) {
+        this.client = client;
+        this.user = user;
+        this.random = new Random(seed);
+        this.warmupEndNanos = warmupEndNanos;
+        this.endNanos = endNanos;
+        user.taskIdsByProject().forEach((projectId, ids) -> taskIdsByProject.put(projectId, new ArrayList<>(ids)));
+    }
+
+    LatencyRecorder recorder() {
+        return recorder;
+    }
+
+    @Override
+    public void run() {
+        try {
+            token = client.login(user.username(), LoadTestConfig.PASSWORD);
+            while (System.nanoTime() < endNanos) {
+                Operation operation = nextOperation();
+                long start = System.nanoTime();
+                boolean success;
+                try {
+                    success = execute(operation);
+                } catch (Exception ex) {
+                    success = false;
+                }
+                long elapsed = System.nanoTime() - start;
+                if (start >= warmupEndNanos) {
+                    recorder.record(operation.endpoint, elapsed, success);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            throw new IllegalStateException("Virtual user " + user.username() + " failed", ex);
+        }
+    }
+
+    private Operation nextOperation() {
+        int pick = random.nextInt(TOTAL_WEIGHT);
+        for (Operation operation : Operation.values()) {
+            pick -= operation.weight;
+            if (pick < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    private boolean execute(Operation operation) throws Exception {
+        Long projectId = randomProject();
+        return switch (operation) {
+            case LOGIN -> {
+                token = client.login(user.username(), LoadTestConfig.PASSWORD);
+                yield true;
+            }
+            case LIST_PROJECTS -> ok(client.get("/api/v1/projects?page=0&size=" + PAGE_SIZE, token));
+            case PAGE_TASKS -> {
+                int pages = Math.max(1, taskIdsByProject.get(projectId).size() / PAGE_SIZE);
+                String filter = random.nextBoolean() ? "&completed=false" : "";
+                yield ok(client.get("/api/v1/projects/" + projectId + "/tasks?page=" + random.nextInt(pages)
+                        + "&size=" + PAGE_SIZE + filter, token));
+            }
+            case INBOX -> ok(client.get("/api/v1/tasks/inbox?size=" + PAGE_SIZE, token));
+            case GET_TASK -> ok(client.get("/api/v1/tasks/" + randomTask(projectId), token));
+            case CREATE_TASK -> {
+                HttpResponse<String> response = client.post("/api/v1/projects/" + projectId + "/tasks", token,
+                        Map.of("title", "Load test task " + random.nextInt(1_000_000), "description", "Created by the load test.", "completed", false));
+                if (ok(response)) {
+                    taskIdsByProject.get(projectId).add(client.readTree(response).get("id").asLong());
+                    yield true;
+                }
+                yield false;
+            }
+            case UPDATE_TASK -> ok(client.put("/api/v1/tasks/" + randomTask(projectId), token,
+                    Map.of("title", "Updated by the load test", "description", "Updated.", "completed", random.nextBoolean())));
+        };
+    }
+
+    private Long randomProject() {
+        return user.projectIds().get(random.nextInt(user.projectIds().size()));
+    }
+
+    private Long randomTask(Long projectId) {
+        List<Long> ids = taskIdsByProject.get(projectId);
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static boolean ok(HttpResponse<String> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+}
@@ -2,6 +2,7 @@ package com.juancasterba.taskflow_api.config;
 
 import com.juancasterba.taskflow_api.exception.ForbiddenAccessException;
 import com.juancasterba.taskflow_api.model.Project;
+import com.juancasterba.taskflow_api.observability.jfr.OwnershipCheckEvent;
 import com.juancasterba.taskflow_api.security.model.User;
 import com.juancasterba.taskflow_api.security.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -40,10 +41,19 @@ public class SecurityUtils {
      * @param currentUser The currently authenticated user.
      */
     public void checkOwnershipOrAdmin(Project project, User currentUser) {
+        OwnershipCheckEvent event = new OwnershipCheckEvent();
+        event.begin();
         boolean isOwner = project.getOwner().getId().equals(currentUser.getId());
         boolean isAdmin = currentUser.getAuthorities().stream()
                 .anyMatch(grantedAuthority -> grantedAuthority.getAuthority().equals("ROLE_ADMIN"));
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.projectId = project.getId();
+            event.userId = currentUser.getId();
+            event.granted = isOwner || isAdmin;
+            event.commit();
+        }
         if (!isOwner && !isAdmin) {
             throw new ForbiddenAccessException("You do not have permission to access this resource.");
         }
@@ -1,24 +1,34 @@
 package com.juancasterba.taskflow_api.controller;
 
 import com.juancasterba.taskflow_api.dto.ErrorResponseDTO;
+import com.juancasterba.taskflow_api.dto.PlatformStatsResponseDTO;
 import com.juancasterba.taskflow_api.dto.ProjectResponseDTO;
 import com.juancasterba.taskflow_api.dto.TaskResponseDTO;
+import com.juancasterba.taskflow_api.security.dto.BulkRegisterRequestDTO;
+import com.juancasterba.taskflow_api.security.dto.BulkRegisterResponseDTO;
+import com.juancasterba.taskflow_api.security.service.provisioning.UserProvisioningService;
 import com.juancasterba.taskflow_api.service.ProjectService;
 import com.juancasterba.taskflow_api.service.TaskService;
+import com.juancasterba.taskflow_api.stats.PlatformStatsCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/v1/admin")
 @RequiredArgsConstructor
@@ -27,6 +37,8 @@ public class AdminController {
 
     private final ProjectService projectService;
     private final TaskService taskService;
+    private final UserProvisioningService userProvisioningService;
+    private final PlatformStatsCache platformStatsCache;
 
     @Operation(
             summary = "Hard delete a project by ID",
@@ -63,11 +75,17 @@ public class AdminController {
             description = "Returns a paginated list of ALL projects in the system, including ACTIVE and ARCHIVED ones, for all users.",
             tags = "Admin: Projects Management"
     )
+    @Parameter(name = "fields", in = ParameterIn.QUERY, schema = @Schema(type = "string"),
+            description = "Comma-separated project fields to return, e.g. id,name. Each element of content then holds only those fields, and only their columns are read. Supported: id, name, description, ownerUsername, status, archivedAt, totalTasks, openTasks, completedTasks, archivedTasks. Omit it to get the full projects, including their tasks.")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of all projects obtained successfully.",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))
+                    description = "List of all projects obtained successfully. With the fields parameter, each project holds only the requested fields."
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request. Check the fields and sort parameters.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
             ),
             @ApiResponse(
                     responseCode = "401",
@@ -85,6 +103,13 @@ public class AdminController {
         Page<ProjectResponseDTO> projectPage = projectService.findAllProjectsForAdmin(pageable);
         return ResponseEntity.ok(projectPage);
     }
+
+    // Sparse variant of getAllProjectsIncludingArchived, documented there.
+    @GetMapping(value = "/projects", params = "fields")
+    @Operation(hidden = true)
+    public ResponseEntity<Page<Map<String, Object>>> getAllProjectFieldsIncludingArchived(Pageable pageable, @RequestParam String fields) {
+        return ResponseEntity.ok(projectService.findAllProjectFieldsForAdmin(pageable, fields));
+    }
     
     @GetMapping("/tasks")
     @Operation(
@@ -92,11 +117,17 @@ public class AdminController {
             description = "Returns a paginated list of ALL tasks in the system, including ACTIVE and ARCHIVED ones.",
             tags = "Admin: Tasks Management"
     )
+    @Parameter(name = "fields", in = ParameterIn.QUERY, schema = @Schema(type = "string"),
+            description = "Comma-separated task fields to return, e.g. id,title,completed. Each element of content then holds only those fields, and only their columns are read. Supported: id, title, description, completed, status, createdAt, updatedAt, archivedAt. Omit it to get the full tasks.")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of all tasks obtained successfully.",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))
+                    description = "List of all tasks obtained successfully. With the fields parameter, each task holds only the requested fields."
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request. Check the fields and sort parameters.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
             ),
             @ApiResponse(
                     responseCode = "401",
@@ -113,6 +144,13 @@ public class AdminController {
         return ResponseEntity.ok(taskService.findAllTasksForAdmin(pageable));
     }
 
+    // Sparse variant of getAllTasksForAdmin, documented there.
+    @GetMapping(value = "/tasks", params = "fields")
+    @Operation(hidden = true)
+    public ResponseEntity<Page<Map<String, Object>>> getAllTaskFieldsForAdmin(Pageable pageable, @RequestParam String fields) {
+        return ResponseEntity.ok(taskService.findAllTaskFieldsForAdmin(pageable, fields));
+    }
+
     @DeleteMapping("/tasks/{id}/hard-delete")
     @Operation(
             summary = "Hard delete a task by ID",
@@ -142,4 +180,71 @@ public class AdminController {
         taskService.hardDeleteTask(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/users/bulk")
+    @Operation(
+            summary = "Provision users in bulk",
+            description = "Creates many users with the USER role in a single request. Passwords are hashed in parallel and the users are inserted in batches. "
+                    + "Each user is validated and checked for duplicates on its own, and the response reports the outcome of every entry, in request order.",
+            tags = "Admin: Users Management"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Request processed. See the per-user results for which users were created.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkRegisterResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request. The user list is empty or larger than the allowed maximum.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized. The authentication token is invalid or has not been provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden. User does not have admin privileges.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    public ResponseEntity<BulkRegisterResponseDTO> registerUsersInBulk(@Valid @RequestBody BulkRegisterRequestDTO request) {
+        return ResponseEntity.ok(userProvisioningService.registerUsers(request));
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Get platform statistics",
+            description = "Returns users by role, projects by status, tasks by status, the most active owners and the projects and tasks created per day. "
+                    + "The statistics are computed periodically and served from a cache, so they can be a few minutes old (see generatedAt); "
+                    + "stale ones are still returned while a refresh runs in the background.",
+            tags = "Admin: Platform Statistics"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Statistics obtained successfully.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PlatformStatsResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized. The authentication token is invalid or has not been provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden. User does not have admin privileges.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    public ResponseEntity<PlatformStatsResponseDTO> getPlatformStats() {
+        PlatformStatsResponseDTO stats = platformStatsCache.get();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(platformStatsCache.remainingFreshness(stats))
+                        .cachePrivate()
+                        .staleWhileRevalidate(platformStatsCache.maxAge()))
+                .body(stats);
+    }
 }
@@ -0,0 +1,377 @@
+package com.juancasterba.taskflow_api.controller;
+
+import com.juancasterba.taskflow_api.dto.ErrorResponseDTO;
+import com.juancasterba.taskflow_api.dto.FlightRecordingResponseDTO;
+import com.juancasterba.taskflow_api.dto.SlowQueryResponseDTO;
+import com.juancasterba.taskflow_api.dto.SpanResponseDTO;
+import com.juancasterba.taskflow_api.dto.TraceResponseDTO;
+import com.juancasterba.taskflow_api.exception.ResourceNotFoundException;
+import com.juancasterba.taskflow_api.observability.RecentSpanExporter;
+import com.juancasterba.taskflow_api.observability.SlowQuery;
+import com.juancasterba.taskflow_api.observability.SlowQueryRecorder;
+import com.juancasterba.taskflow_api.observability.jfr.FlightRecordingManager;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin/diagnostics")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class AdminDiagnosticsController {
+
+    private static final int MAX_TRACES = 100;
+
+    private final SlowQueryRecorder slowQueryRecorder;
+    private final RecentSpanExporter recentSpanExporter;
+    private final FlightRecordingManager flightRecordingManager;
+
+    @Operation(
+            summary = "Get recent slow queries",
+            description = "Returns the SQL statements that ran over the slow-query threshold, most recent first. " +
+                    "Only the most recent captures are kept in memory.",
+            tags = "Admin: Diagnostics"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Slow queries obtained successfully.",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SlowQueryResponseDTO.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized. The authentication token is invalid or has not been provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden. User does not have admin privileges.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    @GetMapping("/slow-queries")
+    public ResponseEntity<List<SlowQueryResponseDTO>> getSlowQueries() {
+        List<SlowQueryResponseDTO> slowQueries = slowQueryRecorder.recent().stream()
+                .map(this::toSlowQueryDTO)
+                .toList();
+        return ResponseEntity.ok(slowQueries);
+    }
+
+    @Operation(
+            summary = "Clear recorded slow queries",
+            description = "Discards every slow query captured so far.",
+            tags = "Admin: Diagnostics"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Slow queries cleared successfully."),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized. The authentication token is invalid or has not been provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden. User does not have admin privileges.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    @DeleteMapping("/slow-queries")
+    public ResponseEntity<Void> clearSlowQueries() {
+        slowQueryRecorder.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "Get recent traces",
+            description = "Returns the most recently finished traces collected in memory, with their spans " +
+                    "(HTTP request, JWT verification, service methods, SQL statements and Kafka sends).",
+            tags = "Admin: Diagnostics"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Traces obtained successfully.",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TraceResponseDTO.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized. The authentication token is invalid or has not been provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden. User does not have admin privileges.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    @GetMapping("/traces")
+    public ResponseEntity<List<TraceResponseDTO>> getTraces(
+            @Parameter(description = "Maximum number of traces to return (1-100).")
+            @RequestParam(defaultValue = "20") int limit) {
+        List<TraceResponseDTO> traces = recentSpanExporter.recentTraces(Math.min(Math.max(limit, 1), MAX_TRACES)).stream()
+                .map(this::toTraceDTO)
+                .toList();
+        return ResponseEntity.ok(traces);
+    }
+
+    @Operation(
+            summary = "Get a trace by ID",
+            description = "Returns the spans collected in memory for a single trace, e.g. one found in the application logs.",
+            tags = "Admin: Diagnostics"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Trace obtained successfully.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TraceResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized. The authentication token is invalid or has not been provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden. User does not have admin privileges.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Not found. No span of the trace is held in memory.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    @GetMapping("/traces/{traceId}")
+    public ResponseEntity<TraceResponseDTO> getTrace(
+            @Parameter(description = "ID of the trace.", required = true) @PathVariable String traceId) {
+        List<SpanData> spans = recentSpanExporter.trace(traceId);
+        if (spans.isEmpty()) {
+            throw new ResourceNotFoundException("Trace not found with id: " + traceId);
+        }
+        return ResponseEntity.ok(toTraceDTO(spans));
+    }
+
+    @Operation(
+            summary = "Start a flight recording",
+            description = "Starts a Java Flight Recorder recording that includes the application events (service calls, " +
+                    "JWT verifications, ownership checks, mapper invocations and Kafka publishes). The recording is bounded: " +
+                    "it stops by itself after the given duration and keeps a limited amount of data.",
+            tags = "Admin: Diagnostics"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Recording started successfully.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = FlightRecordingResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request. The recording settings are unknown.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized. The authentication token is invalid or has not been provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden. User does not have admin privileges.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Conflict. A recording is already running.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    @PostMapping("/recordings")
+    public ResponseEntity<FlightRecordingResponseDTO> startRecording(
+            @Parameter(description = "Recording duration in seconds; capped by the server maximum.")
+            @RequestParam(defaultValue = "60") long durationSeconds,
+            @Parameter(description = "JDK recording settings: 'default' (~1% overhead) or 'profile' (~2%, adds allocation and method profiling).")
+            @RequestParam(defaultValue = "default") String settings) {
+        Recording recording = flightRecordingManager.start(Duration.ofSeconds(Math.max(durationSeconds, 1)), settings);
+        return new ResponseEntity<>(toFlightRecordingDTO(recording), HttpStatus.CREATED);
+    }
+
+    @Operation(
+            summary = "Get the current flight recording",
+            description = "Returns the state of the running or last recording.",
+            tags = "Admin: Diagnostics"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Recording obtained successfully.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = FlightRecordingResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized. The authentication token is invalid or has not been provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden. User does not have admin privileges.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Not found. No recording has been started.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    @GetMapping("/recordings/current")
+    public ResponseEntity<FlightRecordingResponseDTO> getCurrentRecording() {
+        return ResponseEntity.ok(toFlightRecordingDTO(flightRecordingManager.current()));
+    }
+
+    @Operation(
+            summary = "Stop the current flight recording",
+            description = "Stops the running recording so that it can be downloaded. Stopping an already stopped recording has no effect.",
+            tags = "Admin: Diagnostics"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Recording stopped successfully.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = FlightRecordingResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized. The authentication token is invalid or has not been provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden. User does not have admin privileges.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Not found. No recording has been started.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    @PostMapping("/recordings/current/stop")
+    public ResponseEntity<FlightRecordingResponseDTO> stopRecording() {
+        return ResponseEntity.ok(toFlightRecordingDTO(flightRecordingManager.stop()));
+    }
+
+    @Operation(
+            summary = "Download the current flight recording",
+            description = "Downloads the stopped recording as a .jfr file, to be opened with JDK Mission Control or the 'jfr' tool.",
+            tags = "Admin: Diagnostics"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recording file downloaded successfully.",
+                    content = @Content(mediaType = "application/octet-stream")),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized. The authentication token is invalid or has not been provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden. User does not have admin privileges.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Not found. No recording has been started.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Conflict. The recording is still running.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    @GetMapping("/recordings/current/file")
+    public ResponseEntity<Resource> downloadRecording() {
+        String fileName = flightRecordingManager.current().getName() + ".jfr";
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(new FileSystemResource(flightRecordingManager.file()));
+    }
+
+    private FlightRecordingResponseDTO toFlightRecordingDTO(Recording recording) {
+        return FlightRecordingResponseDTO.builder()
+                .id(recording.getId())
+                .name(recording.getName())
+                .state(recording.getState().name())
+                .startedAt(recording.getStartTime())
+                .durationSeconds(recording.getDuration() != null ? recording.getDuration().toSeconds() : null)
+                .maxSizeBytes(recording.getMaxSize())
+                .sizeBytes(recording.getSize())
+                .build();
+    }
+
+    private TraceResponseDTO toTraceDTO(List<SpanData> spans) {
+        SpanData first = spans.get(0);
+        long end = spans.stream().mapToLong(SpanData::getEndEpochNanos).max().orElse(first.getEndEpochNanos());
+        return TraceResponseDTO.builder()
+                .traceId(first.getTraceId())
+                .name(first.getName())
+                .startedAt(toInstant(first.getStartEpochNanos()))
+                .durationMicros((end - first.getStartEpochNanos()) / 1_000)
+                .spans(spans.stream().map(this::toSpanDTO).toList())
+                .build();
+    }
+
+    private SpanResponseDTO toSpanDTO(SpanData span) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return SpanResponseDTO.builder()
+                .spanId(span.getSpanId())
+                .parentSpanId(span.getParentSpanContext().isValid() ? span.getParentSpanId() : null)
+                .name(span.getName())
+                .startedAt(toInstant(span.getStartEpochNanos()))
+                .durationMicros((span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000)
+                .status(span.getStatus().getStatusCode().name())
+                .attributes(attributes)
+                .build();
+    }
+
+    private static Instant toInstant(long epochNanos) {
+        return Instant.ofEpochSecond(0, epochNanos);
+    }
+
+    private SlowQueryResponseDTO toSlowQueryDTO(SlowQuery slowQuery) {
+        return SlowQueryResponseDTO.builder()
+                .id(slowQuery.getId())
+                .capturedAt(slowQuery.getCapturedAt())
+                .elapsedMillis(slowQuery.getElapsedMillis())
+                .sql(slowQuery.getSql())
+                .parameterTypes(slowQuery.getParameterTypes())
+                .batchSize(slowQuery.getBatchSize())
+                .origin(slowQuery.getOrigin())
+                .thread(slowQuery.getThread())
+                .success(slowQuery.isSuccess())
+                .plan(slowQuery.getPlan())
+                .build();
+    }
+}
@@ -4,6 +4,8 @@ import com.juancasterba.taskflow_api.dto.*;
 import com.juancasterba.taskflow_api.service.ProjectService;
 import com.juancasterba.taskflow_api.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,11 +14,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/projects")
@@ -33,14 +40,17 @@ public class ProjectController {
             summary = "Get all projects for the current user (or all if ADMIN)",
             description = "Retrieves a paginated list of projects. If the user is an ADMIN, it returns all projects. Otherwise, it returns only the projects owned by the current user."
     )
+    @Parameter(name = "fields", in = ParameterIn.QUERY, schema = @Schema(type = "string"),
+            description = "Comma-separated project fields to return, e.g. id,name. Each element of content then holds only those fields, and only their columns are read. Supported: id, name, description, ownerUsername, status, archivedAt, totalTasks, openTasks, completedTasks, archivedTasks. Omit it to get the full projects, including their tasks.")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of projects obtained successfully.",
-                    content = @Content(
-                            mediaType = "application/json",
-                            schema = @Schema(implementation = Page.class)
-                    )
+                    description = "List of projects obtained successfully. With the fields parameter, each project holds only the requested fields."
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request. Check the fields and sort parameters.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
             ),
             @ApiResponse(
                     responseCode = "401",
@@ -53,6 +63,13 @@ public class ProjectController {
         return new ResponseEntity<>(projectPage, HttpStatus.OK);
     }
 
+    // Sparse variant of getAllProjects, documented there.
+    @GetMapping(params = "fields")
+    @Operation(hidden = true)
+    public ResponseEntity<Page<Map<String, Object>>> getAllProjectFields(Pageable pageable, @RequestParam String fields) {
+        return ResponseEntity.ok(projectService.getAllProjectFields(pageable, fields));
+    }
+
     @PostMapping
     @Operation(
             summary = "Create a new project",
@@ -211,16 +228,21 @@ public class ProjectController {
     @GetMapping("/{projectId}/tasks")
     @Operation(
             summary = "Get all tasks for a specific project",
-            description = "Retrieves a paginated list of tasks associated with a specific project ID. Access is restricted to the project owner or an admin."
+            description = "Retrieves a paginated list of tasks associated with a specific project ID, optionally filtered by completion, title prefix and creation/update ranges. "
+                    + "Results can be sorted by id, title, completed, createdAt or updatedAt, and narrowed to some fields with the fields parameter. "
+                    + "Access is restricted to the project owner or an admin."
     )
+    @Parameter(name = "fields", in = ParameterIn.QUERY, schema = @Schema(type = "string"),
+            description = "Comma-separated task fields to return, e.g. id,title,completed. Each element of content then holds only those fields, and only their columns are read. Supported: id, title, description, completed, status, createdAt, updatedAt, archivedAt. Omit it to get the full tasks.")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of tasks obtained successfully.",
-                    content = @Content(
-                            mediaType = "application/json",
-                            schema = @Schema(implementation = Page.class)
-                    )
+                    description = "List of tasks obtained successfully. With the fields parameter, each task holds only the requested fields."
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request. Check the filter, sort and fields parameters.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
             ),
             @ApiResponse(
                     responseCode = "401",
@@ -235,9 +257,98 @@ public class ProjectController {
     })
     public ResponseEntity<Page<TaskResponseDTO>> getTasksByProjectId(
             @PathVariable Long projectId,
+            @Valid @ParameterObject TaskFilterDTO filter,
             Pageable pageable) {
 
-        Page<TaskResponseDTO> tasksPage = taskService.getTasksByProjectId(projectId, pageable);
+        Page<TaskResponseDTO> tasksPage = taskService.getTasksByProjectId(projectId, filter, pageable);
         return ResponseEntity.ok(tasksPage);
     }
+
+    // Sparse variant of getTasksByProjectId, documented there.
+    @GetMapping(value = "/{projectId}/tasks", params = "fields")
+    @Operation(hidden = true)
+    public ResponseEntity<Page<Map<String, Object>>> getTaskFieldsByProjectId(
+            @PathVariable Long projectId,
+            @Valid @ParameterObject TaskFilterDTO filter,
+            Pageable pageable,
+            @RequestParam String fields) {
+        return ResponseEntity.ok(taskService.getTaskFieldsByProjectId(projectId, filter, pageable, fields));
+    }
+
+    @GetMapping("/{projectId}/tasks/changes")
+    @Operation(
+            summary = "Get the task changes of a project since a watermark",
+            description = "Returns only the tasks created, updated or archived after the given watermark, in change order, so a client can keep a local copy "
+                    + "of the project up to date without downloading every page again. Archived tasks are returned as tombstones (status ARCHIVED). "
+                    + "Start with since=0 and pass the returned 'watermark' in the next request; repeat right away while 'hasMore' is true. "
+                    + "Tasks deleted by an admin or purged by the retention job leave no tombstone: a watermark taken before such a deletion gets 410 "
+                    + "with 'resetRequired', and the client must reload the tasks of the project and continue with the watermark of that response. "
+                    + "Access is restricted to the project owner or an admin."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Changes obtained successfully.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskChangesResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "410",
+                    description = "The watermark is too old; tasks were deleted since then. The body has resetRequired=true and the watermark to continue from after reloading the tasks.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskChangesResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized. The authentication token is invalid or has not been provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Not found. The project with the specified ID does not exist or you do not have permission to view it.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    public ResponseEntity<TaskChangesResponseDTO> getTaskChanges(
+            @PathVariable Long projectId,
+            @Parameter(description = "Watermark returned by the previous request. Use 0 to get every task of the project.")
+            @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Maximum number of changes to return (1-1000).")
+            @RequestParam(defaultValue = "500") int limit) {
+        TaskChangesResponseDTO changes = taskService.getTaskChanges(projectId, since, limit);
+        return ResponseEntity.status(changes.isResetRequired() ? HttpStatus.GONE : HttpStatus.OK).body(changes);
+    }
+
+    @GetMapping(value = "/{projectId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream the changes of a project",
+            description = "Opens a Server-Sent Events stream that notifies every task created, updated, archived or deleted in the project, "
+                    + "and every update, archive or deletion of the project itself. The event name is the type of change and the data holds "
+                    + "the project ID, task ID and change sequence; task events carry the change sequence as event ID, so a client that "
+                    + "reconnects can catch up with the task changes endpoint using it as watermark. A comment is sent periodically as heartbeat. "
+                    + "Clients that do not read their events fast enough are disconnected. Access is restricted to the project owner or an admin."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream opened.",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized. The authentication token is invalid or has not been provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Not found. The project with the specified ID does not exist or you do not have permission to view it.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Service unavailable. This instance holds the maximum number of open streams; retry later.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    public SseEmitter streamProjectChanges(@PathVariable Long projectId) {
+        return projectService.subscribeToChanges(projectId);
+    }
 }
@@ -1,10 +1,13 @@
 package com.juancasterba.taskflow_api.controller;
 
 import com.juancasterba.taskflow_api.dto.CreateTaskRequestDTO;
+import com.juancasterba.taskflow_api.dto.CursorPageResponseDTO;
 import com.juancasterba.taskflow_api.dto.ErrorResponseDTO;
+import com.juancasterba.taskflow_api.dto.InboxTaskResponseDTO;
 import com.juancasterba.taskflow_api.dto.TaskResponseDTO;
 import com.juancasterba.taskflow_api.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -25,6 +28,32 @@ public class TaskController {
 
     private final TaskService taskService;
 
+    @GetMapping("/inbox")
+    @Operation(
+            summary = "Get the open tasks of the current user",
+            description = "Returns the active, not completed tasks of every active project owned by the current user, newest first, in a single request. "
+                    + "Results are keyset-paginated: pass the 'nextCursor' of a page as 'cursor' to get the following one."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Open tasks obtained successfully.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized. The authentication token is invalid or has not been provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    public ResponseEntity<CursorPageResponseDTO<InboxTaskResponseDTO>> getInbox(
+            @Parameter(description = "Cursor returned as 'nextCursor' by the previous page. Omit it to get the first page.")
+            @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Number of tasks per page (1-100).")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(taskService.getOpenTasksForCurrentUser(cursor, size));
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Get a task by its ID",
@@ -0,0 +1,130 @@
+package com.juancasterba.taskflow_api.counters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Recounts the tasks of every project and corrects the task counters stored on the project
+ * rows wherever they drifted, e.g. after rows were changed by hand or by a bulk import.
+ * <p>
+ * Projects are walked in id order, in chunks. Each chunk is a short transaction that first locks
+ * the project rows and only then counts their tasks in a new statement: every task write locks
+ * its project row before it commits, so the count sees all the changes that already moved the
+ * counters and none of the ones that will move them afterwards. Absolute values can therefore be
+ * written without losing a concurrent increment.
+ */
+@Slf4j
+@Component
+public class TaskCounterReconciliationJob {
+
+    private static final String LOCK_PROJECTS_SQL = """
+            SELECT id FROM projects
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE""";
+    private static final String RECONCILE_SQL = """
+            WITH actual AS (
+                SELECT p.id,
+                       count(t.id) AS total,
+                       count(t.id) FILTER (WHERE t.status = 'ACTIVE' AND NOT t.completed) AS open,
+                       count(t.id) FILTER (WHERE t.status = 'ACTIVE' AND t.completed) AS completed,
+                       count(t.id) FILTER (WHERE t.status = 'ARCHIVED') AS archived
+                FROM projects p
+                LEFT JOIN tasks t ON t.project_id = p.id
+                WHERE p.id = ANY (?)
+                GROUP BY p.id
+            )
+            UPDATE projects p SET
+                total_tasks = a.total,
+                open_tasks = a.open,
+                completed_tasks = a.completed,
+                archived_tasks = a.archived
+            FROM actual a
+            WHERE p.id = a.id
+              AND (p.total_tasks, p.open_tasks, p.completed_tasks, p.archived_tasks)
+                  IS DISTINCT FROM (a.total, a.open, a.completed, a.archived)
+            RETURNING p.id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final Counter correctedProjects;
+
+    public TaskCounterReconciliationJob(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${taskflow.task-counters.reconciliation-enabled:true}") boolean enabled,
+            @Value("${taskflow.task-counters.chunk-size:200}") int chunkSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.correctedProjects = Counter.builder("taskflow.task.counters.corrected")
+                .description("Projects whose task counters had drifted and were corrected")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${taskflow.task-counters.reconciliation-interval:6h}",
+            initialDelayString = "${taskflow.task-counters.reconciliation-interval:6h}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long corrected = 0;
+        long afterId = 0;
+        try {
+            while (true) {
+                long from = afterId;
+                Chunk chunk = transactionTemplate.execute(status -> reconcileChunk(from));
+                corrected += chunk.corrected();
+                if (chunk.lastId() == null) {
+                    break;
+                }
+                afterId = chunk.lastId();
+            }
+        } catch (RuntimeException e) {
+            log.error("Task counter reconciliation stopped after project {}, it will run again on schedule: {}",
+                    afterId, e.getMessage(), e);
+        }
+        correctedProjects.increment(corrected);
+        if (corrected > 0) {
+            log.warn("Task counters had drifted on {} projects and were corrected", corrected);
+        }
+        log.info("Task counter reconciliation finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Chunk reconcileChunk(long afterId) {
+        List<Long> projectIds = jdbcTemplate.queryForList(LOCK_PROJECTS_SQL, Long.class, afterId, chunkSize);
+        if (projectIds.isEmpty()) {
+            return new Chunk(null, 0);
+        }
+        // A new statement, so that it counts the task changes committed while waiting for the locks.
+        List<Long> corrected = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RECONCILE_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", projectIds.toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getLong("id"));
+        if (!corrected.isEmpty()) {
+            log.debug("Corrected the task counters of projects {}", corrected);
+        }
+        return new Chunk(projectIds.get(projectIds.size() - 1), corrected.size());
+    }
+
+    private record Chunk(Long lastId, int corrected) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.juancasterba.taskflow_api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured {@link DataSource} with a {@link ReadWriteRoutingDataSource}
+ * once {@code taskflow.datasource.replicas} lists at least one replica. The primary pool is
+ * still configured from {@code spring.datasource.*}. The pools are not beans of their own, so
+ * the statement observation in {@code DataSourceProxyConfig} wraps the routed data source once
+ * and covers every pool.
+ */
+@Configuration
+@ConditionalOnProperty("taskflow.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReadWriteRoutingConfig implements DisposableBean {
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaRoutingProperties properties,
+                                 Environment environment, MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(metricsTrackerFactory);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ReplicaRoutingProperties.Replica replica : properties.replicas()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (replicas.size() + 1));
+            pool.setJdbcUrl(replica.url());
+            pool.setUsername(replica.username() != null ? replica.username() : primary.getUsername());
+            pool.setPassword(replica.password() != null ? replica.password() : primary.getPassword());
+            pool.setMaximumPoolSize(replica.maximumPoolSize() != null ? replica.maximumPoolSize() : primary.getMaximumPoolSize());
+            pool.setConnectionTimeout(primary.getConnectionTimeout());
+            pool.setReadOnly(true);
+            // A replica that is down must not fail startup; health checks route around it.
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(metricsTrackerFactory);
+            replicas.add(pool);
+        }
+
+        routingDataSource = new ReadWriteRoutingDataSource(primary, replicas, properties, meterRegistry);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Scheduled(fixedDelayString = "${taskflow.datasource.health-check-interval:5s}")
+    public void checkReplicas() {
+        if (routingDataSource != null) {
+            routingDataSource.checkReplicas();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+}
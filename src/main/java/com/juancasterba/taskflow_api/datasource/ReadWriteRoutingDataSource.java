@@ -0,0 +1,205 @@
+package com.juancasterba.taskflow_api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections of read-only transactions to a healthy replica (round robin) and
+ * everything else to the primary. It must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for a connection before the read-only flag of the transaction is published,
+ * and the lazy proxy defers the choice until the first statement runs.
+ * <p>
+ * Reads stay on the primary when:
+ * <ul>
+ *   <li>the current user committed a write less than {@code stickiness-window} ago
+ *       (read-your-writes);</li>
+ *   <li>no replica is healthy, or the chosen one fails to hand out a connection, which also
+ *       marks it unhealthy until the next successful health check.</li>
+ * </ul>
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final String REPLICATION_LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END""";
+    private static final int STICKY_USERS_SWEEP_THRESHOLD = 10_000;
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final long stickinessWindowNanos;
+    private final double maxReplicationLagSeconds;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                      ReplicaRoutingProperties properties, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.stickinessWindowNanos = properties.stickinessWindow().toNanos();
+        this.maxReplicationLagSeconds = properties.maxReplicationLag().toMillis() / 1000.0;
+
+        this.writes = routedCounter(meterRegistry, "primary", "write");
+        this.replicaReads = routedCounter(meterRegistry, "replica", "read");
+        this.stickyReads = routedCounter(meterRegistry, "primary", "sticky");
+        this.fallbackReads = routedCounter(meterRegistry, "primary", "fallback");
+        for (Replica replica : this.replicas) {
+            Gauge.builder("taskflow.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the replica currently receives read-only transactions")
+                    .tag("pool", replica.dataSource.getPoolName())
+                    .register(meterRegistry);
+        }
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("taskflow.datasource.routed")
+                .description("Connections handed out, by target pool and routing reason")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit();
+            writes.increment();
+            return primary.getConnection();
+        }
+        String user = currentUser();
+        if (user != null && isSticky(user)) {
+            stickyReads.increment();
+            return primary.getConnection();
+        }
+        Replica replica = nextHealthyReplica();
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.healthy = false;
+                log.warn("Replica {} failed to provide a connection; reading from the primary until it recovers",
+                        replica.dataSource.getPoolName(), e);
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void rememberWriteOnCommit() {
+        String user = currentUser();
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                long now = System.nanoTime();
+                if (stickyUntil.size() > STICKY_USERS_SWEEP_THRESHOLD) {
+                    stickyUntil.values().removeIf(until -> until - now < 0);
+                }
+                stickyUntil.put(user, now + stickinessWindowNanos);
+            }
+        });
+    }
+
+    private boolean isSticky(String user) {
+        Long until = stickyUntil.get(user);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    /**
+     * Marks each replica healthy or not, based on whether it answers and how far it lags behind.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(REPLICATION_LAG_SQL)) {
+                resultSet.next();
+                double lagSeconds = resultSet.getDouble(1);
+                healthy = lagSeconds <= maxReplicationLagSeconds;
+                if (!healthy && replica.healthy) {
+                    log.warn("Replica {} is {}s behind the primary; reading from the primary until it catches up",
+                            replica.dataSource.getPoolName(), lagSeconds);
+                }
+            } catch (SQLException e) {
+                healthy = false;
+                if (replica.healthy) {
+                    log.warn("Replica {} failed its health check; reading from the primary until it recovers",
+                            replica.dataSource.getPoolName(), e);
+                }
+            }
+            if (healthy && !replica.healthy) {
+                log.info("Replica {} is healthy again", replica.dataSource.getPoolName());
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+}
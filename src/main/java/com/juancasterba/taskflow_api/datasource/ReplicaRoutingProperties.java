@@ -0,0 +1,47 @@
+package com.juancasterba.taskflow_api.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas and routing settings, bound from {@code taskflow.datasource.*}. Routing is only
+ * set up when at least one replica is configured.
+ *
+ * @param replicas             Replica connection pools; read-only transactions are spread over them.
+ * @param stickinessWindow     How long after a user's write transaction commits that user's reads
+ *                             stay on the primary, so they see their own writes despite replication lag.
+ * @param healthCheckInterval  How often replicas are checked; unhealthy ones receive no reads.
+ * @param maxReplicationLag    Replicas further behind the primary than this are treated as unhealthy.
+ */
+@ConfigurationProperties("taskflow.datasource")
+public record ReplicaRoutingProperties(
+        List<Replica> replicas,
+        Duration stickinessWindow,
+        Duration healthCheckInterval,
+        Duration maxReplicationLag
+) {
+
+    public ReplicaRoutingProperties {
+        replicas = replicas == null ? List.of() : List.copyOf(replicas);
+        if (stickinessWindow == null) {
+            stickinessWindow = Duration.ofSeconds(5);
+        }
+        if (healthCheckInterval == null) {
+            healthCheckInterval = Duration.ofSeconds(5);
+        }
+        if (maxReplicationLag == null) {
+            maxReplicationLag = Duration.ofSeconds(10);
+        }
+    }
+
+    /**
+     * @param url             JDBC URL of the replica.
+     * @param username        Defaults to the primary's username.
+     * @param password        Defaults to the primary's password.
+     * @param maximumPoolSize Defaults to the primary's pool size.
+     */
+    public record Replica(String url, String username, String password, Integer maximumPoolSize) {
+    }
+}
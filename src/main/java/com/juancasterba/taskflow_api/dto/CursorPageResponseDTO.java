@@ -0,0 +1,30 @@
+package com.juancasterba.taskflow_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A page of results obtained through keyset (cursor) pagination")
+public class CursorPageResponseDTO<T> {
+
+    @Schema(description = "Items of the current page")
+    private List<T> content;
+
+    @Schema(description = "Maximum number of items requested for this page", example = "20")
+    private int size;
+
+    @Schema(description = "Whether there are more items after this page", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Cursor to pass in the next request to get the following page. Null when there are no more items.", example = "87")
+    private Long nextCursor;
+
+}
@@ -0,0 +1,38 @@
+package com.juancasterba.taskflow_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "State of an on-demand Java Flight Recorder recording")
+public class FlightRecordingResponseDTO {
+
+    @Schema(description = "JFR identifier of the recording", example = "3")
+    private Long id;
+
+    @Schema(description = "Name of the recording, also used for the downloaded file", example = "taskflow-1736937000000")
+    private String name;
+
+    @Schema(description = "State of the recording (RUNNING, STOPPED or CLOSED)", example = "RUNNING")
+    private String state;
+
+    @Schema(description = "When the recording started", example = "2025-01-15T10:30:00Z")
+    private Instant startedAt;
+
+    @Schema(description = "Time after which the recording stops by itself, in seconds", example = "60")
+    private Long durationSeconds;
+
+    @Schema(description = "Maximum amount of data kept by the recording, in bytes", example = "104857600")
+    private Long maxSizeBytes;
+
+    @Schema(description = "Amount of data recorded so far, in bytes", example = "2097152")
+    private Long sizeBytes;
+}
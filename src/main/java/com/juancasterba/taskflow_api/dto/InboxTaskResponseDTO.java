@@ -0,0 +1,39 @@
+package com.juancasterba.taskflow_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "An open task of the current user, together with the project it belongs to")
+public class InboxTaskResponseDTO {
+
+    @Schema(description = "Unique identifier of the task", example = "101")
+    private Long id;
+
+    @Schema(description = "Title of the task", example = "Implement user authentication")
+    private String title;
+
+    @Schema(description = "Detailed description of the task", example = "Set up JWT-based authentication for the API.")
+    private String description;
+
+    @Schema(description = "Timestamp when the task was created", example = "2023-10-27T10:30:00")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Timestamp of the last update of the task", example = "2023-10-28T16:45:00")
+    private LocalDateTime updatedAt;
+
+    @Schema(description = "Unique identifier of the project the task belongs to", example = "1")
+    private Long projectId;
+
+    @Schema(description = "Name of the project the task belongs to", example = "New E-commerce Platform")
+    private String projectName;
+
+}
@@ -0,0 +1,91 @@
+package com.juancasterba.taskflow_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Platform-wide statistics, computed periodically and served from a cache")
+public class PlatformStatsResponseDTO {
+
+    @Schema(description = "When the statistics were computed; they may be up to the refresh interval old, or older while the API is busy",
+            example = "2025-01-15T10:30:00Z")
+    private Instant generatedAt;
+
+    @Schema(description = "Number of users", example = "1250")
+    private long totalUsers;
+
+    @Schema(description = "Number of users by role", example = "{\"USER\": 1248, \"ADMIN\": 2}")
+    private Map<String, Long> usersByRole;
+
+    @Schema(description = "Number of projects, active and archived", example = "4300")
+    private long totalProjects;
+
+    @Schema(description = "Number of projects by status", example = "{\"ACTIVE\": 4100, \"ARCHIVED\": 200}")
+    private Map<String, Long> projectsByStatus;
+
+    @Schema(description = "Number of tasks, active and archived", example = "96000")
+    private long totalTasks;
+
+    @Schema(description = "Number of active tasks not completed yet", example = "41000")
+    private long openTasks;
+
+    @Schema(description = "Number of active tasks completed", example = "35000")
+    private long completedTasks;
+
+    @Schema(description = "Number of archived tasks", example = "20000")
+    private long archivedTasks;
+
+    @Schema(description = "Number of days covered by mostActiveOwners and dailyGrowth, today included", example = "30")
+    private int windowDays;
+
+    @Schema(description = "Owners whose projects got the most new tasks within the window, most active first")
+    private List<OwnerActivity> mostActiveOwners;
+
+    @Schema(description = "Projects and tasks created on each day of the window, oldest first")
+    private List<DailyGrowth> dailyGrowth;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Tasks created within the window in the projects of an owner")
+    public static class OwnerActivity {
+
+        @Schema(description = "Username of the owner", example = "john.doe")
+        private String username;
+
+        @Schema(description = "Tasks created within the window", example = "320")
+        private long tasksCreated;
+
+        @Schema(description = "Projects of the owner that got new tasks within the window", example = "4")
+        private long projects;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Projects and tasks created on one day")
+    public static class DailyGrowth {
+
+        @Schema(description = "The day, in the server time zone", example = "2025-01-15")
+        private LocalDate date;
+
+        @Schema(description = "Projects created that day", example = "12")
+        private long newProjects;
+
+        @Schema(description = "Tasks created that day", example = "430")
+        private long newTasks;
+    }
+}
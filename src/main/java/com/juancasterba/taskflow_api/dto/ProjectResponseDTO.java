@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -33,4 +34,19 @@ public class ProjectResponseDTO {
     @Schema(description = "Status of the task", example = "ACTIVE")
     private String status;
 
+    @Schema(description = "Timestamp when the project was archived; null while it is active", example = "2023-11-02T09:15:00")
+    private LocalDateTime archivedAt;
+
+    @Schema(description = "Number of tasks of the project, archived ones included", example = "12")
+    private long totalTasks;
+
+    @Schema(description = "Number of active tasks not completed yet", example = "5")
+    private long openTasks;
+
+    @Schema(description = "Number of active tasks completed", example = "4")
+    private long completedTasks;
+
+    @Schema(description = "Number of archived tasks", example = "3")
+    private long archivedTasks;
+
 }
@@ -0,0 +1,49 @@
+package com.juancasterba.taskflow_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A SQL statement that ran over the slow-query threshold")
+public class SlowQueryResponseDTO {
+
+    @Schema(description = "Sequence number of the capture", example = "42")
+    private Long id;
+
+    @Schema(description = "When the statement finished executing", example = "2025-01-15T10:30:00Z")
+    private Instant capturedAt;
+
+    @Schema(description = "Execution time in milliseconds", example = "350")
+    private Long elapsedMillis;
+
+    @Schema(description = "SQL text as sent to the database, with '?' placeholders",
+            example = "select t1_0.id,t1_0.title from tasks t1_0 where t1_0.project_id=?")
+    private String sql;
+
+    @Schema(description = "JDBC types of the bind parameters, in order (values are never captured)", example = "[\"Long\"]")
+    private List<String> parameterTypes;
+
+    @Schema(description = "Number of parameter sets when the statement ran as a JDBC batch, 1 otherwise", example = "1")
+    private Integer batchSize;
+
+    @Schema(description = "Application method that issued the statement", example = "TaskServiceImpl.getTasksByProjectId")
+    private String origin;
+
+    @Schema(description = "Thread that executed the statement", example = "http-nio-8080-exec-3")
+    private String thread;
+
+    @Schema(description = "Whether the statement completed without error", example = "true")
+    private Boolean success;
+
+    @Schema(description = "EXPLAIN output, when plan capture is enabled and has completed")
+    private String plan;
+}
@@ -0,0 +1,39 @@
+package com.juancasterba.taskflow_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A single timed operation within a trace")
+public class SpanResponseDTO {
+
+    @Schema(description = "Identifier of the span", example = "a3f1c2d4e5b6a7c8")
+    private String spanId;
+
+    @Schema(description = "Identifier of the enclosing span, null for the root span", example = "b4e2d3c1a0f9e8d7")
+    private String parentSpanId;
+
+    @Schema(description = "Name of the operation", example = "task-service-impl#create-task-for-project")
+    private String name;
+
+    @Schema(description = "When the operation started", example = "2025-01-15T10:30:00.123Z")
+    private Instant startedAt;
+
+    @Schema(description = "Duration of the operation in microseconds", example = "1840")
+    private Long durationMicros;
+
+    @Schema(description = "Outcome of the operation (UNSET, OK or ERROR)", example = "UNSET")
+    private String status;
+
+    @Schema(description = "Attributes recorded on the span, such as the SQL statement or the HTTP route")
+    private Map<String, String> attributes;
+}
@@ -0,0 +1,35 @@
+package com.juancasterba.taskflow_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Tasks of a project that changed after a watermark, for incremental synchronization")
+public class TaskChangesResponseDTO {
+
+    @Schema(description = "Unique identifier of the project", example = "1")
+    private Long projectId;
+
+    @Schema(description = "Current state of every task created, updated or archived after the requested watermark, in change order. "
+            + "Archived tasks (status ARCHIVED) are tombstones: the client should remove them.")
+    private List<TaskResponseDTO> changes;
+
+    @Schema(description = "Watermark to pass as 'since' in the next request. Equal to the requested one when nothing changed.", example = "5342")
+    private long watermark;
+
+    @Schema(description = "Whether more changes are available right away after this batch", example = "false")
+    private boolean hasMore;
+
+    @Schema(description = "Whether the requested watermark is too old to be served because tasks were deleted since then without a tombstone. "
+            + "The client must drop its copy of the project's tasks, reload them, and continue with the returned watermark.", example = "false")
+    private boolean resetRequired;
+
+}
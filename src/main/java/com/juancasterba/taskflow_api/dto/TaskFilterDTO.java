@@ -0,0 +1,48 @@
+package com.juancasterba.taskflow_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional server-side filters for the task listing of a project.
+ * Every criterion is optional; the ones provided are combined with AND.
+ * Lower bounds are inclusive and upper bounds are exclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Optional filters applied when listing the tasks of a project")
+public class TaskFilterDTO {
+
+    @Schema(description = "Only return completed (true) or not completed (false) tasks", example = "false")
+    private Boolean completed;
+
+    @Size(max = 100, message = "Title prefix must be less than 100 characters")
+    @Schema(description = "Case-insensitive prefix the task title must start with", example = "Implement")
+    private String titlePrefix;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Only tasks created at or after this instant", example = "2023-10-01T00:00:00")
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Only tasks created before this instant", example = "2023-11-01T00:00:00")
+    private LocalDateTime createdTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Only tasks updated at or after this instant", example = "2023-10-01T00:00:00")
+    private LocalDateTime updatedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Only tasks updated before this instant", example = "2023-11-01T00:00:00")
+    private LocalDateTime updatedTo;
+
+}
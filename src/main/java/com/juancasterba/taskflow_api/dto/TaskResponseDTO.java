@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -28,4 +30,13 @@ public class TaskResponseDTO {
     @Schema(description = "Status of the task", example = "ACTIVE")
     private String status;
 
+    @Schema(description = "Timestamp when the task was created", example = "2023-10-27T10:30:00")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Timestamp of the last update of the task", example = "2023-10-28T16:45:00")
+    private LocalDateTime updatedAt;
+
+    @Schema(description = "Timestamp when the task was archived; null while it is active", example = "2023-11-02T09:15:00")
+    private LocalDateTime archivedAt;
+
 }
@@ -0,0 +1,33 @@
+package com.juancasterba.taskflow_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A trace with the spans collected in memory for it")
+public class TraceResponseDTO {
+
+    @Schema(description = "Identifier of the trace", example = "6f1c2b3a4d5e6f708192a3b4c5d6e7f8")
+    private String traceId;
+
+    @Schema(description = "Name of the earliest collected span, normally the HTTP request", example = "http post /api/v1/projects/{projectId}/tasks")
+    private String name;
+
+    @Schema(description = "When the earliest collected span started", example = "2025-01-15T10:30:00.120Z")
+    private Instant startedAt;
+
+    @Schema(description = "Time between the first span start and the last span end, in microseconds", example = "25400")
+    private Long durationMicros;
+
+    @Schema(description = "Spans of the trace ordered by start time")
+    private List<SpanResponseDTO> spans;
+}
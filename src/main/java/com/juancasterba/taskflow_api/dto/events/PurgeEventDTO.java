@@ -0,0 +1,28 @@
+package com.juancasterba.taskflow_api.dto.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Published when the retention job permanently deletes an archived task or project.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurgeEventDTO {
+
+    public enum EntityType {
+        TASK,
+        PROJECT
+    }
+
+    private EntityType entityType;
+    private Long id;
+    private Long projectId;
+    private LocalDateTime archivedAt;
+    private Instant purgedAt;
+}
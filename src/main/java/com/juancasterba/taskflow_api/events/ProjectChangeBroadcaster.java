@@ -0,0 +1,227 @@
+package com.juancasterba.taskflow_api.events;
+
+import com.juancasterba.taskflow_api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes {@link ProjectChangeEvent}s to the Server-Sent Events subscribers of each project.
+ * <p>
+ * An idle subscriber costs an async request and a few small objects, no thread. Events are
+ * fanned out after the writing transaction commits, and the committing thread only enqueues
+ * them: every subscriber has a bounded queue that a small dispatcher pool drains, so a slow
+ * client never blocks a write or the other subscribers. A client whose queue fills up is
+ * disconnected and expected to reconnect and catch up through the task changes endpoint.
+ * Periodic heartbeats keep proxies from closing idle streams and reveal dead connections.
+ */
+@Slf4j
+@Component
+public class ProjectChangeBroadcaster {
+
+    // Queue markers, compared by identity.
+    private static final ProjectChangeEvent HEARTBEAT = new ProjectChangeEvent(null, null, null, null);
+    private static final ProjectChangeEvent END_OF_STREAM = new ProjectChangeEvent(null, null, null, null);
+
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService dispatcher;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Counter eventsSent;
+    private final Counter slowConsumerDisconnects;
+
+    public ProjectChangeBroadcaster(
+            MeterRegistry meterRegistry,
+            @Value("${taskflow.sse.timeout:30m}") Duration timeout,
+            @Value("${taskflow.sse.buffer-size:32}") int bufferSize,
+            @Value("${taskflow.sse.max-subscribers:20000}") int maxSubscribers,
+            @Value("${taskflow.sse.dispatcher-threads:4}") int dispatcherThreads
+    ) {
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, new CustomizableThreadFactory("sse-dispatch-"));
+
+        Gauge.builder("taskflow.sse.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open Server-Sent Events subscriptions")
+                .register(meterRegistry);
+        this.eventsSent = Counter.builder("taskflow.sse.events.sent")
+                .description("Project change events written to subscribers")
+                .register(meterRegistry);
+        this.slowConsumerDisconnects = Counter.builder("taskflow.sse.slow.disconnects")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the changes of a project. The caller must have checked that the current
+     * user may see the project.
+     *
+     * @throws ServiceUnavailableException if this instance already holds the maximum number of
+     *                                     subscriptions.
+     */
+    public SseEmitter subscribe(Long projectId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many open change streams. Please retry shortly.");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(projectId, emitter);
+        emitter.onCompletion(subscription::remove);
+        emitter.onTimeout(subscription::remove);
+        emitter.onError(error -> subscription.remove());
+        subscriptions.computeIfAbsent(projectId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        try {
+            // Flushes the response headers, so the client knows the stream is open.
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            subscription.remove();
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onChange(ProjectChangeEvent event) {
+        Set<Subscription> projectSubscriptions = subscriptions.get(event.projectId());
+        if (projectSubscriptions == null) {
+            return;
+        }
+        boolean projectGone = event.type() == ProjectChangeEvent.Type.PROJECT_DELETED;
+        for (Subscription subscription : projectSubscriptions) {
+            subscription.enqueue(event);
+            if (projectGone) {
+                subscription.enqueue(END_OF_STREAM);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${taskflow.sse.heartbeat-interval:20s}")
+    public void sendHeartbeats() {
+        for (Set<Subscription> projectSubscriptions : subscriptions.values()) {
+            for (Subscription subscription : projectSubscriptions) {
+                subscription.enqueue(HEARTBEAT);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        subscriptions.values().forEach(projectSubscriptions -> projectSubscriptions.forEach(Subscription::complete));
+    }
+
+    private final class Subscription {
+
+        private final Long projectId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<ProjectChangeEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscription(Long projectId, SseEmitter emitter) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+            this.queue = new LinkedBlockingQueue<>(bufferSize);
+        }
+
+        void enqueue(ProjectChangeEvent event) {
+            if (removed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                slowConsumerDisconnects.increment();
+                log.debug("Disconnecting a slow subscriber of project {}", projectId);
+                complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // Shutting down.
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                ProjectChangeEvent event;
+                while ((event = queue.poll()) != null) {
+                    if (!send(event)) {
+                        return;
+                    }
+                }
+                draining.set(false);
+                // An event enqueued after the last poll but before the flag was cleared would
+                // otherwise wait for the next one.
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private boolean send(ProjectChangeEvent event) {
+            if (event == END_OF_STREAM) {
+                complete();
+                return false;
+            }
+            try {
+                if (event == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                            .name(event.type().name())
+                            .data(event, MediaType.APPLICATION_JSON);
+                    if (event.changeSeq() != null) {
+                        builder.id(event.changeSeq().toString());
+                    }
+                    emitter.send(builder);
+                    eventsSent.increment();
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed.
+                remove();
+                return false;
+            }
+        }
+
+        void complete() {
+            remove();
+            emitter.complete();
+        }
+
+        void remove() {
+            if (!removed.compareAndSet(false, true)) {
+                return;
+            }
+            subscriberCount.decrementAndGet();
+            queue.clear();
+            subscriptions.computeIfPresent(projectId, (id, projectSubscriptions) -> {
+                projectSubscriptions.remove(this);
+                return projectSubscriptions.isEmpty() ? null : projectSubscriptions;
+            });
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.juancasterba.taskflow_api.events;
+
+/**
+ * Published in-process by the project and task write paths and pushed to the subscribers of
+ * the project once the transaction commits (see {@link ProjectChangeBroadcaster}). It only
+ * says what changed; clients fetch the new state through the regular endpoints, e.g. the task
+ * changes endpoint with {@code changeSeq} as watermark.
+ *
+ * @param projectId The project the change belongs to.
+ * @param type      What happened.
+ * @param taskId    The task that changed, null for project changes.
+ * @param changeSeq The project's change sequence value taken by the task change, null for
+ *                  project changes.
+ */
+public record ProjectChangeEvent(Long projectId, Type type, Long taskId, Long changeSeq) {
+
+    public enum Type {
+        TASK_CREATED,
+        TASK_UPDATED,
+        TASK_ARCHIVED,
+        TASK_DELETED,
+        PROJECT_UPDATED,
+        PROJECT_ARCHIVED,
+        PROJECT_DELETED
+    }
+
+    public static ProjectChangeEvent ofTask(Type type, Long projectId, Long taskId, Long changeSeq) {
+        return new ProjectChangeEvent(projectId, type, taskId, changeSeq);
+    }
+
+    public static ProjectChangeEvent ofProject(Type type, Long projectId) {
+        return new ProjectChangeEvent(projectId, type, null, null);
+    }
+}
@@ -0,0 +1,125 @@
+package com.juancasterba.taskflow_api.events;
+
+import com.juancasterba.taskflow_api.dto.events.PurgeEventDTO;
+import com.juancasterba.taskflow_api.dto.events.TaskEventDTO;
+import com.juancasterba.taskflow_api.observability.jfr.KafkaPublishEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes task events to Kafka and records how long the broker takes to acknowledge them.
+ * The send latency is measured from the call to the broker acknowledgement, tagged with the
+ * outcome, and every failed send (rejected up front or nacked later) increments a counter.
+ * Each publication is also emitted as a {@link KafkaPublishEvent} for flight recordings.
+ * <p>
+ * Task events go to {@value #TOPIC}; purge events have a different shape and go to the topic
+ * the retention job passes, so consumers of {@value #TOPIC} only ever see {@link TaskEventDTO}s.
+ */
+@Component
+@Slf4j
+public class TaskEventPublisher {
+
+    static final String TOPIC = "tasks-events";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TopicMeters> topicMeters = new ConcurrentHashMap<>();
+
+    public TaskEventPublisher(KafkaTemplate<String, Object> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        meters(TOPIC);
+    }
+
+    /**
+     * Sends a task event asynchronously and logs the result for traceability.
+     *
+     * @param event The event to publish.
+     */
+    public void publish(TaskEventDTO event) {
+        send(TOPIC, event, event.getTaskId(), "TaskEvent for task ID: " + event.getTaskId());
+    }
+
+    /**
+     * Sends a purge event asynchronously. If the producer cannot accept it at all the call throws;
+     * otherwise the returned future completes when the broker acknowledges the event, or
+     * exceptionally when it does not, so the caller can wait for a batch of events before
+     * deleting more rows.
+     *
+     * @param event The event to publish.
+     * @param topic The topic of purge events.
+     * @return The broker acknowledgement.
+     */
+    public CompletableFuture<?> publish(PurgeEventDTO event, String topic) {
+        long taskId = event.getEntityType() == PurgeEventDTO.EntityType.TASK ? event.getId() : 0;
+        return send(topic, event, taskId, "PurgeEvent for " + event.getEntityType() + " ID: " + event.getId());
+    }
+
+    private CompletableFuture<?> send(String topic, Object event, long taskId, String description) {
+        TopicMeters meters = meters(topic);
+        long start = System.nanoTime();
+        KafkaPublishEvent publishEvent = new KafkaPublishEvent();
+        publishEvent.begin();
+        try {
+            return kafkaTemplate.send(topic, event).whenComplete((result, ex) -> {
+                long elapsed = System.nanoTime() - start;
+                if (ex == null) {
+                    meters.success().record(elapsed, TimeUnit.NANOSECONDS);
+                    log.info("Successfully sent {}", description);
+                } else {
+                    meters.failure().record(elapsed, TimeUnit.NANOSECONDS);
+                    meters.failures().increment();
+                    log.error("Failed to send {}. Reason: {}", description, ex.getMessage());
+                }
+                commit(publishEvent, topic, taskId, ex == null);
+            });
+        } catch (RuntimeException ex) {
+            // The producer can fail synchronously, e.g. when the topic metadata is unavailable.
+            meters.failure().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meters.failures().increment();
+            commit(publishEvent, topic, taskId, false);
+            throw ex;
+        }
+    }
+
+    private static void commit(KafkaPublishEvent publishEvent, String topic, long taskId, boolean success) {
+        publishEvent.end();
+        if (publishEvent.shouldCommit()) {
+            publishEvent.topic = topic;
+            publishEvent.taskId = taskId;
+            publishEvent.success = success;
+            publishEvent.commit();
+        }
+    }
+
+    private TopicMeters meters(String topic) {
+        return topicMeters.computeIfAbsent(topic, t -> new TopicMeters(
+                sendTimer(t, "success"),
+                sendTimer(t, "failure"),
+                Counter.builder("taskflow.events.send.failures")
+                        .description("Task events that could not be delivered to Kafka")
+                        .tag("topic", t)
+                        .register(meterRegistry)));
+    }
+
+    private Timer sendTimer(String topic, String outcome) {
+        return Timer.builder("taskflow.events.send")
+                .description("Time until Kafka acknowledges a task event")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record TopicMeters(Timer success, Timer failure, Counter failures) {
+    }
+}
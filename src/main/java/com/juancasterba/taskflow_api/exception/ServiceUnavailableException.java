@@ -0,0 +1,7 @@
+package com.juancasterba.taskflow_api.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -5,6 +5,7 @@ import com.juancasterba.taskflow_api.dto.ProjectResponseDTO;
 import com.juancasterba.taskflow_api.dto.TaskResponseDTO;
 import com.juancasterba.taskflow_api.model.Project;
 import com.juancasterba.taskflow_api.model.Status;
+import com.juancasterba.taskflow_api.observability.jfr.MapperEvent;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -24,11 +25,18 @@ public class ProjectMapper {
         if (project == null) {
             return null;
         }
+        MapperEvent event = new MapperEvent();
+        event.begin();
         ProjectResponseDTO.ProjectResponseDTOBuilder builder = ProjectResponseDTO.builder()
                 .id(project.getId())
                 .name(project.getName())
                 .description(project.getDescription())
                 .status(project.getStatus().name())
+                .archivedAt(project.getArchivedAt())
+                .totalTasks(project.getTotalTasks())
+                .openTasks(project.getOpenTasks())
+                .completedTasks(project.getCompletedTasks())
+                .archivedTasks(project.getArchivedTasks())
                 .ownerUsername(project.getOwner().getUsername());
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         boolean isAdmin = authentication != null && authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"));
@@ -47,6 +55,13 @@ public class ProjectMapper {
 
         builder.tasks(taskDTOs);
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.mapper = "ProjectMapper.toProjectDTO";
+            event.entityId = project.getId();
+            event.collectionSize = project.getTasks().size();
+            event.commit();
+        }
         return builder.build();
     }
 
@@ -18,6 +18,9 @@ public class TaskMapper {
                 .description(task.getDescription())
                 .completed(task.isCompleted())
                 .status(task.getStatus().name())
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .archivedAt(task.getArchivedAt())
                 .build();
     }
 
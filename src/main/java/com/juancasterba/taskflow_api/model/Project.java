@@ -8,12 +8,23 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "projects")
+@Table(
+        name = "projects",
+        indexes = {
+                // Ownership lookups; the listing of active projects by owner has its own
+                // partial index in schema.sql.
+                @Index(name = "idx_projects_owner_id", columnList = "owner_id")
+        }
+)
 @org.hibernate.annotations.Filter(name = "activeStatusFilter")
 @Getter
 @Setter
@@ -46,4 +57,49 @@ public class Project {
     @Enumerated(EnumType.STRING)
     private Status status = Status.ACTIVE;
 
+    // Set when the project is archived; the retention job purges projects archived long enough ago.
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Last value handed out by the project's task change sequence. Only ever incremented in
+    // the database, so the entity never writes it back.
+    @ColumnDefault("0")
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false)
+    private long changeSeq;
+
+    // Lowest watermark the task changes endpoint can still serve: hard deletes and the retention
+    // purge remove tasks without a tombstone, so a client that synchronized before them must
+    // start over. Also only written by the database.
+    @ColumnDefault("0")
+    @Column(name = "sync_floor", nullable = false, insertable = false, updatable = false)
+    private long syncFloor;
+
+    // Task counters, kept up to date by the task write paths with relative increments on this row
+    // (see ProjectRepository#recordTaskChange) and corrected by TaskCounterReconciliationJob.
+    // Like changeSeq, they are only written by the database. Open and completed count active
+    // tasks only; total also counts archived ones.
+    @ColumnDefault("0")
+    @Column(name = "total_tasks", nullable = false, insertable = false, updatable = false)
+    private long totalTasks;
+
+    @ColumnDefault("0")
+    @Column(name = "open_tasks", nullable = false, insertable = false, updatable = false)
+    private long openTasks;
+
+    @ColumnDefault("0")
+    @Column(name = "completed_tasks", nullable = false, insertable = false, updatable = false)
+    private long completedTasks;
+
+    @ColumnDefault("0")
+    @Column(name = "archived_tasks", nullable = false, insertable = false, updatable = false)
+    private long archivedTasks;
+
 }
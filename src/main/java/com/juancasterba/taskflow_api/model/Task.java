@@ -7,9 +7,24 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(
+        name = "tasks",
+        indexes = {
+                // Range filters on the project task listing. The partial indexes for open
+                // tasks and title prefixes cannot be expressed here and live in schema.sql.
+                @Index(name = "idx_tasks_project_created_at", columnList = "project_id, created_at"),
+                @Index(name = "idx_tasks_project_updated_at", columnList = "project_id, updated_at"),
+                // Range scan of the changes endpoint (change_seq > watermark).
+                @Index(name = "idx_tasks_project_change_seq", columnList = "project_id, change_seq")
+        }
+)
 @org.hibernate.annotations.Filter(name = "activeStatusFilter")
 @Getter
 @Setter
@@ -34,7 +49,28 @@ public class Task {
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
 
+    // Partition key: the tasks table is list-partitioned by status (see schema.sql), so
+    // archiving or restoring a task moves its row between the hot and the cold partition.
     @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
     private Status status = Status.ACTIVE;
 
+    // Set when the task is archived; the retention job purges tasks archived long enough ago.
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    // Position of the last change of this task in its project's change sequence; every create,
+    // update and archive takes the next value (see ProjectRepository#recordTaskChange).
+    @ColumnDefault("0")
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
 }
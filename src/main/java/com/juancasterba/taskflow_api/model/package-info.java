@@ -1,2 +1,8 @@
-@org.hibernate.annotations.FilterDef(name = "activeStatusFilter", defaultCondition = "status = 'ACTIVE'")
-package com.juancasterba.taskflow_api.model;
\ No newline at end of file
+/**
+ * Soft-deleted ({@code ARCHIVED}) projects and tasks are hidden by {@code activeStatusFilter},
+ * which Hibernate enables in every session it opens. Code that must see archived rows opts in
+ * explicitly, for a bounded scope, through
+ * {@link com.juancasterba.taskflow_api.repository.SoftDeleteVisibility}.
+ */
+@org.hibernate.annotations.FilterDef(name = "activeStatusFilter", defaultCondition = "status = 'ACTIVE'", autoEnabled = true)
+package com.juancasterba.taskflow_api.model;
@@ -0,0 +1,39 @@
+package com.juancasterba.taskflow_api.observability;
+
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application {@link DataSource} with datasource-proxy so that statement executions
+ * can be observed: {@link JdbcObservationListener} traces and times every statement and
+ * {@link SlowQueryListener} records the slow ones. This replaces Hibernate's {@code show-sql},
+ * which formats and prints every statement synchronously.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<SlowQueryRecorder> recorder,
+                                                                 ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new JdbcObservationListener(observationRegistry.getObject()))
+                        .listener(new SlowQueryListener(recorder.getObject(), dataSource))
+                        .build();
+            }
+        };
+    }
+}
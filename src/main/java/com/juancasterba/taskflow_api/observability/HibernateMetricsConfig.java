@@ -0,0 +1,57 @@
+package com.juancasterba.taskflow_api.observability;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Registers the Hibernate hooks that feed {@link RequestStatistics}:
+ * a {@link StatementInspector} that counts every SQL statement Hibernate prepares and a
+ * post-load listener that counts every entity hydrated into the persistence context.
+ * Both hooks only bump a thread-local counter and leave the SQL untouched.
+ */
+@Configuration
+public class HibernateMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsCustomizer() {
+        StatementInspector statementCounter = sql -> {
+            RequestStatistics.statementPrepared(sql);
+            return sql;
+        };
+        IntegratorProvider integrators = () -> List.of(new EntityLoadCountingIntegrator());
+
+        return properties -> {
+            properties.put("hibernate.session_factory.statement_inspector", statementCounter);
+            properties.put("hibernate.integrator_provider", integrators);
+        };
+    }
+
+    private static final class EntityLoadCountingIntegrator implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                              SessionFactoryImplementor sessionFactory) {
+            sessionFactory.getServiceRegistry()
+                    .requireService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, event -> RequestStatistics.entityLoaded());
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                 SessionFactoryServiceRegistry serviceRegistry) {
+            // Nothing to release: the listener holds no resources.
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.juancasterba.taskflow_api.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * datasource-proxy listener that wraps every statement in an {@link Observation}, giving one
+ * span per SQL statement (child of the current service or HTTP span) and a
+ * {@code taskflow.jdbc.query} timer tagged by operation.
+ */
+class JdbcObservationListener implements QueryExecutionListener {
+
+    private static final String OBSERVATION = JdbcObservationListener.class.getName();
+
+    private final ObservationRegistry observationRegistry;
+
+    JdbcObservationListener(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        String operation = operation(sql);
+        Observation observation = Observation.createNotStarted("taskflow.jdbc.query", observationRegistry)
+                .contextualName("jdbc " + operation)
+                .lowCardinalityKeyValue("db.operation", operation)
+                .highCardinalityKeyValue("db.statement", sql);
+        if (execInfo.isBatch()) {
+            observation.highCardinalityKeyValue("db.batch.size", String.valueOf(execInfo.getBatchSize()));
+        }
+        execInfo.addCustomValue(OBSERVATION, observation.start());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Observation observation = execInfo.getCustomValue(OBSERVATION, Observation.class);
+        if (observation == null) {
+            return;
+        }
+        if (execInfo.getThrowable() != null) {
+            observation.error(execInfo.getThrowable());
+        }
+        observation.stop();
+    }
+
+    // First keyword of the statement ("select", "insert", ...), a bounded value suitable as a tag.
+    private static String operation(String sql) {
+        String statement = sql.stripLeading();
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "other" : statement.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+}
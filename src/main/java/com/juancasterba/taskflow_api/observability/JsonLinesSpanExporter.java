@@ -0,0 +1,79 @@
+package com.juancasterba.taskflow_api.observability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends finished spans to a local file, one JSON object per line, so a run can be analysed
+ * afterwards (e.g. with {@code jq}) without an external collector. Writes happen on the
+ * OpenTelemetry batch processor thread, never on request threads.
+ */
+@Slf4j
+public class JsonLinesSpanExporter implements SpanExporter {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public JsonLinesSpanExporter(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> batch) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (SpanData span : batch) {
+                    writer.write(objectMapper.writeValueAsString(toJson(span)));
+                    writer.newLine();
+                }
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException ex) {
+            log.warn("Could not write {} spans to {}: {}", batch.size(), file, ex.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private static Map<String, Object> toJson(SpanData span) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", span.getTraceId());
+        json.put("spanId", span.getSpanId());
+        json.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        json.put("name", span.getName());
+        json.put("kind", span.getKind().name());
+        json.put("startEpochNanos", span.getStartEpochNanos());
+        json.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        json.put("status", span.getStatus().getStatusCode().name());
+        Map<String, String> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        json.put("attributes", attributes);
+        return json;
+    }
+}
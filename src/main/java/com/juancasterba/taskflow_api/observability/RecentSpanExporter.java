@@ -0,0 +1,78 @@
+package com.juancasterba.taskflow_api.observability;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory span collector: keeps the most recently finished spans in a {@link RingBuffer}
+ * so traces can be inspected through the admin diagnostics endpoint without running an
+ * external tracing backend. Spans are handed over by the OpenTelemetry batch processor,
+ * off the request threads.
+ */
+public class RecentSpanExporter implements SpanExporter {
+
+    private final RingBuffer<SpanData> spans;
+
+    public RecentSpanExporter(int capacity) {
+        this.spans = new RingBuffer<>(capacity);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> batch) {
+        batch.forEach(spans::add);
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * Groups the buffered spans by trace, most recently finished trace first.
+     * Traces whose oldest spans were already overwritten are returned partially.
+     *
+     * @param limit The maximum number of traces to return.
+     * @return The spans of each trace, ordered by start time.
+     */
+    public List<List<SpanData>> recentTraces(int limit) {
+        Map<String, List<SpanData>> traces = new LinkedHashMap<>();
+        for (SpanData span : spans.recent()) {
+            List<SpanData> trace = traces.get(span.getTraceId());
+            if (trace == null) {
+                if (traces.size() == limit) {
+                    continue;
+                }
+                trace = new ArrayList<>();
+                traces.put(span.getTraceId(), trace);
+            }
+            trace.add(span);
+        }
+        traces.values().forEach(trace -> trace.sort(Comparator.comparingLong(SpanData::getStartEpochNanos)));
+        return new ArrayList<>(traces.values());
+    }
+
+    /**
+     * @param traceId The trace to look up.
+     * @return The buffered spans of the trace ordered by start time, empty if none is buffered.
+     */
+    public List<SpanData> trace(String traceId) {
+        return spans.recent().stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .toList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.juancasterba.taskflow_api.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Publishes, per endpoint, how many SQL statements and entity loads a request needed.
+ * It runs ahead of the security filter chain so the user lookup done while authenticating
+ * the JWT is part of the numbers, which is what a client actually pays for.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        RequestStatistics.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            String method = request.getMethod();
+            String uri = uriTemplate(request);
+            summary("taskflow.http.sql.statements", "SQL statements executed per request", method, uri)
+                    .record(RequestStatistics.statementCount());
+            summary("taskflow.http.entity.loads", "Entities loaded into the persistence context per request", method, uri)
+                    .record(RequestStatistics.entityLoadCount());
+            RequestStatistics.clear();
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Uses the matched route template (e.g. /api/v1/tasks/{id}) to keep tag cardinality bounded.
+    private static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
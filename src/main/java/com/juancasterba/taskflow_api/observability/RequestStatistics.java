@@ -0,0 +1,75 @@
+package com.juancasterba.taskflow_api.observability;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-thread counters of the persistence work done while serving the current request.
+ * The counters are reset by {@link RequestMetricsFilter} when a request starts and are
+ * incremented by the Hibernate hooks registered in {@link HibernateMetricsConfig}.
+ * Work done outside of an HTTP request (startup, scheduled jobs) is simply never read.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<Counters> CURRENT = ThreadLocal.withInitial(Counters::new);
+
+    private RequestStatistics() {
+    }
+
+    /** Clears the counters of the calling thread. */
+    public static void reset() {
+        Counters counters = CURRENT.get();
+        counters.statements = 0;
+        counters.entityLoads = 0;
+        counters.executionsBySql.clear();
+    }
+
+    /** Removes the counters of the calling thread once the request is finished. */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared(String sql) {
+        Counters counters = CURRENT.get();
+        counters.statements++;
+        counters.executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    static void entityLoaded() {
+        CURRENT.get().entityLoads++;
+    }
+
+    /** @return The number of SQL statements prepared by the calling thread since the last reset. */
+    public static int statementCount() {
+        return CURRENT.get().statements;
+    }
+
+    /** @return The number of entities hydrated by the calling thread since the last reset. */
+    public static int entityLoadCount() {
+        return CURRENT.get().entityLoads;
+    }
+
+    /**
+     * Returns the statements prepared at least {@code threshold} times since the last reset.
+     * The same SQL text issued over and over within one request is the signature of an N+1
+     * access pattern, e.g. a lazy association initialised once per row of a listing.
+     *
+     * @param threshold The minimum number of executions for a statement to be reported.
+     * @return The repeated statements with their execution count.
+     */
+    public static Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new HashMap<>();
+        CURRENT.get().executionsBySql.forEach((sql, executions) -> {
+            if (executions >= threshold) {
+                repeated.put(sql, executions);
+            }
+        });
+        return repeated;
+    }
+
+    private static final class Counters {
+        private int statements;
+        private int entityLoads;
+        private final Map<String, Integer> executionsBySql = new HashMap<>();
+    }
+}
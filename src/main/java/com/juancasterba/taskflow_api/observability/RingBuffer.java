@@ -0,0 +1,60 @@
+package com.juancasterba.taskflow_api.observability;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, lock-free buffer that keeps the most recent elements added to it.
+ * Writers claim a slot with a single atomic increment, so adding never blocks and memory
+ * stays bounded: once the buffer is full the oldest elements are overwritten.
+ *
+ * @param <T> The type of the buffered elements.
+ */
+public class RingBuffer<T> {
+
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public RingBuffer(int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * @param element The element to add, overwriting the oldest one when the buffer is full.
+     */
+    public void add(T element) {
+        long position = sequence.incrementAndGet();
+        slots.set(index(position), new Slot<>(position, element));
+    }
+
+    /** @return The buffered elements, most recent first. */
+    public List<T> recent() {
+        long last = sequence.get();
+        int capacity = slots.length();
+        List<T> recent = new ArrayList<>(capacity);
+        for (long position = last; position > 0 && position > last - capacity; position--) {
+            Slot<T> slot = slots.get(index(position));
+            // Skip slots overwritten by a newer writer or emptied by clear().
+            if (slot != null && slot.position() == position) {
+                recent.add(slot.element());
+            }
+        }
+        return recent;
+    }
+
+    /** Discards every buffered element. */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    private int index(long position) {
+        return (int) ((position - 1) % slots.length());
+    }
+
+    private record Slot<T>(long position, T element) {
+    }
+}
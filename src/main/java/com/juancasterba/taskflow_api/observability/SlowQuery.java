@@ -0,0 +1,44 @@
+package com.juancasterba.taskflow_api.observability;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A statement captured by {@link SlowQueryRecorder} because it ran over the slow-query threshold.
+ * Only the shape of the bind parameters is kept (their JDBC setter types), never their values.
+ * The execution plan is filled in asynchronously, so it is {@code null} until the
+ * {@code EXPLAIN} has completed, or when plan capture is disabled.
+ */
+@Getter
+public class SlowQuery {
+
+    private final long id;
+    private final Instant capturedAt;
+    private final long elapsedMillis;
+    private final String sql;
+    private final List<String> parameterTypes;
+    private final int batchSize;
+    private final String origin;
+    private final String thread;
+    private final boolean success;
+    private volatile String plan;
+
+    SlowQuery(long id, Instant capturedAt, long elapsedMillis, String sql, List<String> parameterTypes,
+              int batchSize, String origin, String thread, boolean success) {
+        this.id = id;
+        this.capturedAt = capturedAt;
+        this.elapsedMillis = elapsedMillis;
+        this.sql = sql;
+        this.parameterTypes = parameterTypes;
+        this.batchSize = batchSize;
+        this.origin = origin;
+        this.thread = thread;
+        this.success = success;
+    }
+
+    void setPlan(String plan) {
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,106 @@
+package com.juancasterba.taskflow_api.observability;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * datasource-proxy listener that hands statements over the slow-query threshold to the
+ * {@link SlowQueryRecorder}. Fast statements cost a single comparison; the bind parameter
+ * shape and the calling service method are only worked out for the slow ones.
+ */
+class SlowQueryListener implements QueryExecutionListener {
+
+    private static final String APPLICATION_PACKAGE = "com.juancasterba.taskflow_api.";
+    private static final String SERVICE_PACKAGE = APPLICATION_PACKAGE + "service.";
+    private static final String OBSERVABILITY_PACKAGE = APPLICATION_PACKAGE + "observability.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final SlowQueryRecorder recorder;
+    private final DataSource targetDataSource;
+
+    SlowQueryListener(SlowQueryRecorder recorder, DataSource targetDataSource) {
+        this.recorder = recorder;
+        this.targetDataSource = targetDataSource;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!recorder.isSlow(execInfo.getElapsedTime()) || queryInfoList.isEmpty()) {
+            return;
+        }
+        QueryInfo queryInfo = queryInfoList.get(0);
+        List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty()
+                ? List.of()
+                : sortedByIndex(queryInfo.getParametersList().get(0));
+
+        SlowQuery slowQuery = recorder.record(
+                execInfo.getElapsedTime(),
+                queryInfo.getQuery(),
+                parameters.stream().map(SlowQueryListener::parameterType).toList(),
+                execInfo.isBatch() ? execInfo.getBatchSize() : 1,
+                origin(),
+                execInfo.isSuccess()
+        );
+
+        if (recorder.isExplainEnabled() && !execInfo.isBatch() && isSelect(queryInfo.getQuery())) {
+            List<Object> values = new ArrayList<>(parameters.size());
+            parameters.forEach(operation -> values.add(
+                    ParameterSetOperation.isSetNullParameterOperation(operation) ? null : operation.getArgs()[1]));
+            recorder.explainAsync(slowQuery, targetDataSource, values);
+        }
+    }
+
+    private static List<ParameterSetOperation> sortedByIndex(List<ParameterSetOperation> operations) {
+        return operations.stream()
+                .filter(operation -> operation.getArgs()[0] instanceof Integer)
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .toList();
+    }
+
+    // "setLong" -> "Long", "setNull" -> "Null": the JDBC type bound, without the value.
+    private static String parameterType(ParameterSetOperation operation) {
+        return operation.getMethod().getName().substring("set".length());
+    }
+
+    private static boolean isSelect(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return statement.startsWith("select") || statement.startsWith("with");
+    }
+
+    /**
+     * Finds the application method that issued the statement, preferring the service layer.
+     * Proxy classes (CGLIB, Spring Data repositories) are skipped.
+     */
+    private static String origin() {
+        return STACK_WALKER.walk(frames -> {
+            String firstApplicationFrame = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (!className.startsWith(APPLICATION_PACKAGE) || className.startsWith(OBSERVABILITY_PACKAGE)
+                        || className.contains("$$")) {
+                    continue;
+                }
+                String method = className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+                if (className.startsWith(SERVICE_PACKAGE)) {
+                    return method;
+                }
+                if (firstApplicationFrame == null) {
+                    firstApplicationFrame = method;
+                }
+            }
+            return firstApplicationFrame != null ? firstApplicationFrame : "unknown";
+        });
+    }
+}
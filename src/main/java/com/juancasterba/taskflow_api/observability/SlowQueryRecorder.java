@@ -0,0 +1,136 @@
+package com.juancasterba.taskflow_api.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the most recent slow statements in a {@link RingBuffer}, so recording never blocks
+ * request threads and memory stays bounded no matter how many slow queries happen.
+ * <p>
+ * When {@code taskflow.sql.slow-query.explain} is enabled, the plan of slow {@code SELECT}s is
+ * captured with {@code EXPLAIN} on a single background thread. Plan requests that do not fit in
+ * its small queue are dropped rather than queued, so a burst of slow queries cannot pile up
+ * extra load on the database.
+ */
+@Component
+@Slf4j
+public class SlowQueryRecorder {
+
+    private static final int EXPLAIN_QUEUE_CAPACITY = 16;
+    private static final int EXPLAIN_TIMEOUT_SECONDS = 5;
+
+    private final long thresholdMillis;
+    private final boolean explainEnabled;
+    private final RingBuffer<SlowQuery> ring;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadPoolExecutor explainExecutor;
+    private final Counter slowQueryCounter;
+
+    public SlowQueryRecorder(
+            @Value("${taskflow.sql.slow-query.threshold-ms:200}") long thresholdMillis,
+            @Value("${taskflow.sql.slow-query.capacity:100}") int capacity,
+            @Value("${taskflow.sql.slow-query.explain:false}") boolean explainEnabled,
+            MeterRegistry meterRegistry) {
+        this.thresholdMillis = thresholdMillis;
+        this.explainEnabled = explainEnabled;
+        this.ring = new RingBuffer<>(capacity);
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(EXPLAIN_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+        this.slowQueryCounter = Counter.builder("taskflow.sql.slow.queries")
+                .description("Statements that ran over the slow-query threshold")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param elapsedMillis The execution time of a statement.
+     * @return {@code true} if the statement is slow enough to be recorded.
+     */
+    public boolean isSlow(long elapsedMillis) {
+        return elapsedMillis >= thresholdMillis;
+    }
+
+    /** @return {@code true} if execution plans should be captured for slow queries. */
+    public boolean isExplainEnabled() {
+        return explainEnabled;
+    }
+
+    SlowQuery record(long elapsedMillis, String sql, List<String> parameterTypes, int batchSize,
+                     String origin, boolean success) {
+        long id = sequence.incrementAndGet();
+        SlowQuery slowQuery = new SlowQuery(id, Instant.now(), elapsedMillis, sql, parameterTypes, batchSize,
+                origin, Thread.currentThread().getName(), success);
+        ring.add(slowQuery);
+        slowQueryCounter.increment();
+        return slowQuery;
+    }
+
+    /**
+     * Schedules an {@code EXPLAIN} of a recorded query, using the original bind values.
+     * The values live only as long as the pending task; they are never stored in the ring.
+     *
+     * @param slowQuery  The recorded query the plan belongs to.
+     * @param dataSource The unproxied data source, so the EXPLAIN itself is not recorded.
+     * @param parameters The bind values of the statement, in parameter order.
+     */
+    void explainAsync(SlowQuery slowQuery, DataSource dataSource, List<Object> parameters) {
+        explainExecutor.execute(() -> slowQuery.setPlan(explain(dataSource, slowQuery.getSql(), parameters)));
+    }
+
+    /** @return The recorded slow queries, most recent first. */
+    public List<SlowQuery> recent() {
+        return ring.recent();
+    }
+
+    /** Discards every recorded slow query. */
+    public void clear() {
+        ring.clear();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private static String explain(DataSource dataSource, String sql, List<Object> parameters) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            connection.setReadOnly(true);
+            statement.setQueryTimeout(EXPLAIN_TIMEOUT_SECONDS);
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        } catch (SQLException ex) {
+            log.debug("Could not capture the execution plan of a slow query: {}", ex.getMessage());
+            return "EXPLAIN failed: " + ex.getMessage();
+        }
+    }
+}
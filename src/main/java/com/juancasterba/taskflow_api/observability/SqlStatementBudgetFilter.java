@@ -0,0 +1,86 @@
+package com.juancasterba.taskflow_api.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Checks every request against a budget of SQL statements and reports likely N+1 patterns.
+ * A request that goes over {@code taskflow.sql.statement-budget} statements, or that issues the
+ * same statement at least {@code taskflow.sql.repeated-statement-threshold} times, is logged as
+ * a warning. When {@code taskflow.sql.expose-count-header} is on (dev profile and tests) the
+ * count is also returned in the {@value #STATEMENT_COUNT_HEADER} response header; the body is
+ * buffered for that, since the header has to be set after the handler has run. Server-Sent
+ * Events requests are never buffered: their events have to reach the client as they are written.
+ * <p>
+ * Runs inside {@link RequestMetricsFilter}, which owns the lifecycle of {@link RequestStatistics}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@Slf4j
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+
+    @Value("${taskflow.sql.statement-budget:20}")
+    private int statementBudget;
+
+    @Value("${taskflow.sql.repeated-statement-threshold:5}")
+    private int repeatedStatementThreshold;
+
+    @Value("${taskflow.sql.expose-count-header:false}")
+    private boolean exposeCountHeader;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!exposeCountHeader || acceptsEventStream(request)) {
+            filterChain.doFilter(request, response);
+            checkBudget(request);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, cachingResponse);
+        } finally {
+            cachingResponse.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(RequestStatistics.statementCount()));
+            cachingResponse.copyBodyToResponse();
+        }
+        checkBudget(request);
+    }
+
+    private boolean acceptsEventStream(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    private void checkBudget(HttpServletRequest request) {
+        int statements = RequestStatistics.statementCount();
+        if (statements > statementBudget) {
+            log.warn("{} {} executed {} SQL statements, over the budget of {}",
+                    request.getMethod(), request.getRequestURI(), statements, statementBudget);
+        }
+        Map<String, Integer> repeated = RequestStatistics.repeatedStatements(repeatedStatementThreshold);
+        repeated.forEach((sql, executions) ->
+                log.warn("Possible N+1 in {} {}: statement executed {} times: {}",
+                        request.getMethod(), request.getRequestURI(), executions, sql));
+    }
+}
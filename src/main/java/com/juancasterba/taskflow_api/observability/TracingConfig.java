@@ -0,0 +1,30 @@
+package com.juancasterba.taskflow_api.observability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Local span exporters. Spring Boot registers every {@link io.opentelemetry.sdk.trace.export.SpanExporter}
+ * bean with the OpenTelemetry batch span processor: spans always go to the in-memory collector
+ * and, when {@code taskflow.tracing.file} is set, are also appended to that file.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public RecentSpanExporter recentSpanExporter(@Value("${taskflow.tracing.memory.capacity:2000}") int capacity) {
+        return new RecentSpanExporter(capacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty("taskflow.tracing.file")
+    public JsonLinesSpanExporter jsonLinesSpanExporter(@Value("${taskflow.tracing.file}") Path file,
+                                                       ObjectMapper objectMapper) {
+        return new JsonLinesSpanExporter(file, objectMapper);
+    }
+}
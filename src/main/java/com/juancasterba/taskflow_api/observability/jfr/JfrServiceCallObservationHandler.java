@@ -0,0 +1,57 @@
+package com.juancasterba.taskflow_api.observability.jfr;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns the {@code @Observed} service method observations into {@link ServiceCallEvent}s.
+ * When no recording has the event enabled, the only cost is the allocation and the
+ * {@link ServiceCallEvent#isEnabled()} check done when the observation starts.
+ */
+@Component
+public class JfrServiceCallObservationHandler implements ObservationHandler<ObservedAspect.ObservedAspectContext> {
+
+    @Override
+    public void onStart(ObservedAspect.ObservedAspectContext context) {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            context.put(ServiceCallEvent.class, event);
+        }
+    }
+
+    @Override
+    public void onStop(ObservedAspect.ObservedAspectContext context) {
+        ServiceCallEvent event = context.get(ServiceCallEvent.class);
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            ProceedingJoinPoint joinPoint = context.getProceedingJoinPoint();
+            event.service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+            event.method = joinPoint.getSignature().getName();
+            event.entityId = entityId(joinPoint.getArgs());
+            event.error = context.getError() != null ? context.getError().getClass().getSimpleName() : null;
+            event.commit();
+        }
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ObservedAspect.ObservedAspectContext;
+    }
+
+    // Service methods take the project or task ID as their first Long argument.
+    private static long entityId(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Long id) {
+                return id;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.juancasterba.taskflow_api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the verification of a bearer token in the JWT authentication filter,
+ * including the user lookup.
+ */
+@Name("com.juancasterba.taskflow.JwtVerification")
+@Label("JWT Verification")
+@Category({"TaskFlow", "Security"})
+@Description("Verification of a bearer token by the JWT authentication filter")
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Outcome")
+    @Description("valid, invalid, skipped or error")
+    public String outcome;
+}
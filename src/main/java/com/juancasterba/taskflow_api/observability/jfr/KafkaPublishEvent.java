@@ -0,0 +1,30 @@
+package com.juancasterba.taskflow_api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the publication of a task event to Kafka. It spans from the send call to the
+ * broker acknowledgement, so it is committed on the producer callback thread.
+ */
+@Name("com.juancasterba.taskflow.KafkaPublish")
+@Label("Kafka Publish")
+@Category({"TaskFlow", "Events"})
+@Description("Publication of a task event, from send to broker acknowledgement")
+@StackTrace(false)
+public class KafkaPublishEvent extends Event {
+
+    @Label("Topic")
+    public String topic;
+
+    @Label("Task ID")
+    @Description("The task the event is about; 0 for project purge events")
+    public long taskId;
+
+    @Label("Success")
+    public boolean success;
+}
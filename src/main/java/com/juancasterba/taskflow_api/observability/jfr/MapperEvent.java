@@ -0,0 +1,30 @@
+package com.juancasterba.taskflow_api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the mapping of an entity with a collection into its response DTO,
+ * e.g. a project and its tasks. The size shows how much lazy loading the mapping triggered.
+ */
+@Name("com.juancasterba.taskflow.Mapper")
+@Label("Mapper Invocation")
+@Category({"TaskFlow", "Mapper"})
+@Description("Mapping of an entity and its collection into a response DTO")
+@StackTrace(false)
+public class MapperEvent extends Event {
+
+    @Label("Mapper")
+    public String mapper;
+
+    @Label("Entity ID")
+    public long entityId;
+
+    @Label("Collection Size")
+    @Description("Number of elements of the mapped collection, before filtering")
+    public int collectionSize;
+}
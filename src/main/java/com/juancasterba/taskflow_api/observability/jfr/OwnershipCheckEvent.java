@@ -0,0 +1,28 @@
+package com.juancasterba.taskflow_api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a project ownership (or admin) authorization check.
+ */
+@Name("com.juancasterba.taskflow.OwnershipCheck")
+@Label("Ownership Check")
+@Category({"TaskFlow", "Security"})
+@Description("Check that the current user owns a project or is an admin")
+@StackTrace(false)
+public class OwnershipCheckEvent extends Event {
+
+    @Label("Project ID")
+    public long projectId;
+
+    @Label("User ID")
+    public long userId;
+
+    @Label("Granted")
+    public boolean granted;
+}
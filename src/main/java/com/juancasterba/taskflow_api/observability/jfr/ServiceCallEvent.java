@@ -0,0 +1,34 @@
+package com.juancasterba.taskflow_api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for an invocation of a service layer method, emitted by
+ * {@link JfrServiceCallObservationHandler}.
+ */
+@Name("com.juancasterba.taskflow.ServiceCall")
+@Label("Service Call")
+@Category({"TaskFlow", "Service"})
+@Description("Invocation of a ProjectService or TaskService method")
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+
+    @Label("Entity ID")
+    @Description("First ID argument of the method (project or task), 0 when the method takes none")
+    long entityId;
+
+    @Label("Error")
+    @Description("Simple name of the exception thrown, null on success")
+    String error;
+}
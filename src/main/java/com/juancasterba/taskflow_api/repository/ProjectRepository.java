@@ -5,9 +5,61 @@ import com.juancasterba.taskflow_api.security.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
     Page<Project> findByOwner(User owner, Pageable pageable);
+
+    /**
+     * Takes the next value of a project's task change sequence and applies the change to its
+     * task counters, in a single statement.
+     *
+     * <p>The increment locks the project row until the transaction ends, so changes to the tasks
+     * of one project commit in sequence order and a client never skips a change that commits
+     * after a higher value was already visible. The counters are moved by relative amounts, so
+     * concurrent changes never overwrite each other.</p>
+     *
+     * @param projectId The ID of the project whose task changes.
+     * @param total Change of the total task count.
+     * @param open Change of the open (active, not completed) task count.
+     * @param completed Change of the completed (active) task count.
+     * @param archived Change of the archived task count.
+     * @return The new sequence value, to store on the changed task.
+     */
+    @Query(value = """
+            UPDATE projects SET change_seq = change_seq + 1,
+                total_tasks = total_tasks + :total,
+                open_tasks = open_tasks + :open,
+                completed_tasks = completed_tasks + :completed,
+                archived_tasks = archived_tasks + :archived
+            WHERE id = :projectId
+            RETURNING change_seq""", nativeQuery = true)
+    long recordTaskChange(@Param("projectId") Long projectId, @Param("total") int total, @Param("open") int open,
+                          @Param("completed") int completed, @Param("archived") int archived);
+
+    /**
+     * Records the hard deletion of a task: takes the next change sequence value, raises the
+     * project's sync floor to it and applies the change to the task counters.
+     *
+     * <p>A deleted task leaves no tombstone, so watermarks taken before the deletion can no
+     * longer be served: clients holding one are told to start over.</p>
+     *
+     * @return The new sequence value, which is also the new sync floor.
+     * @see #recordTaskChange
+     */
+    @Query(value = """
+            UPDATE projects SET change_seq = change_seq + 1,
+                sync_floor = change_seq + 1,
+                total_tasks = total_tasks + :total,
+                open_tasks = open_tasks + :open,
+                completed_tasks = completed_tasks + :completed,
+                archived_tasks = archived_tasks + :archived
+            WHERE id = :projectId
+            RETURNING change_seq""", nativeQuery = true)
+    long recordTaskDeletion(@Param("projectId") Long projectId, @Param("total") int total, @Param("open") int open,
+                            @Param("completed") int completed, @Param("archived") int archived);
 }
@@ -0,0 +1,45 @@
+package com.juancasterba.taskflow_api.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Scoped access to soft-deleted rows. {@code activeStatusFilter} is enabled when Hibernate
+ * opens a session, so queries only see {@code ACTIVE} rows unless they run inside
+ * {@link #includingArchived}, which lifts the filter for the duration of the call and
+ * restores it afterwards, leaving the rest of the transaction unaffected.
+ */
+@Component
+@RequiredArgsConstructor
+public class SoftDeleteVisibility {
+
+    public static final String FILTER_NAME = "activeStatusFilter";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Runs {@code work} with archived rows visible. Must be called inside a transaction, so that
+     * the filter is lifted on the session the work actually uses.
+     */
+    public <T> T includingArchived(Supplier<T> work) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("includingArchived requires an active transaction");
+        }
+        Session session = entityManager.unwrap(Session.class);
+        if (session.getEnabledFilter(FILTER_NAME) == null) {
+            // Already inside an includingArchived scope.
+            return work.get();
+        }
+        session.disableFilter(FILTER_NAME);
+        try {
+            return work.get();
+        } finally {
+            session.enableFilter(FILTER_NAME);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.juancasterba.taskflow_api.repository;
+
+import com.juancasterba.taskflow_api.exception.BadRequestException;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The attributes of an entity a client can select with the {@code fields} parameter of a
+ * listing endpoint, each mapped to the expression that reads its column. Field names are the
+ * ones of the response DTO, so a sparse row looks like the full DTO with attributes left out.
+ *
+ * @param <T> The entity the fields are read from.
+ */
+public final class SparseFieldset<T> {
+
+    private final Class<T> entityType;
+    private final Map<String, Function<Root<T>, Expression<?>>> fields;
+    private final Set<String> sortable;
+
+    private SparseFieldset(Class<T> entityType, Map<String, Function<Root<T>, Expression<?>>> fields,
+                           Set<String> sortable) {
+        this.entityType = entityType;
+        this.fields = fields;
+        this.sortable = sortable;
+    }
+
+    public static <T> Builder<T> of(Class<T> entityType) {
+        return new Builder<>(entityType);
+    }
+
+    public Class<T> entityType() {
+        return entityType;
+    }
+
+    /**
+     * Parses the value of a {@code fields} parameter, a comma-separated list of field names.
+     * Duplicates are ignored and the requested order is kept.
+     *
+     * @param requested The parameter value.
+     * @return The selected field names.
+     * @throws BadRequestException if a name is not part of this fieldset or none is given.
+     */
+    public List<String> parse(String requested) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String name : requested.split(",")) {
+            String field = name.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!fields.containsKey(field)) {
+                throw new BadRequestException("Unknown field '" + field + "'. Supported fields: " + String.join(", ", fields.keySet()));
+            }
+            selected.add(field);
+        }
+        if (selected.isEmpty()) {
+            throw new BadRequestException("The fields parameter must name at least one of: " + String.join(", ", fields.keySet()));
+        }
+        return new ArrayList<>(selected);
+    }
+
+    /**
+     * Checks that a listing is only sorted by the properties declared sortable.
+     *
+     * @param sort The requested sort.
+     * @throws BadRequestException if a property is not sortable, including nested paths.
+     */
+    public void checkSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!sortable.contains(order.getProperty())) {
+                throw new BadRequestException("Cannot sort by '" + order.getProperty()
+                        + "'. Supported properties: " + String.join(", ", sortable));
+            }
+        }
+    }
+
+    Expression<?> expression(Root<T> root, String field) {
+        return fields.get(field).apply(root);
+    }
+
+    public static final class Builder<T> {
+
+        private final Class<T> entityType;
+        private final Map<String, Function<Root<T>, Expression<?>>> fields = new LinkedHashMap<>();
+        private final Set<String> sortable = new LinkedHashSet<>();
+
+        private Builder(Class<T> entityType) {
+            this.entityType = entityType;
+        }
+
+        /**
+         * Adds fields read from the entity attributes of the same name.
+         */
+        public Builder<T> attributes(String... names) {
+            Arrays.stream(names).forEach(name -> fields.put(name, root -> root.get(name)));
+            return this;
+        }
+
+        /**
+         * Adds a field read from any expression, e.g. an attribute of a joined entity.
+         */
+        public Builder<T> field(String name, Function<Root<T>, Expression<?>> expression) {
+            fields.put(name, expression);
+            return this;
+        }
+
+        /**
+         * Declares the attributes a listing can be sorted by. Nothing is sortable otherwise.
+         */
+        public Builder<T> sortable(String... names) {
+            sortable.addAll(Arrays.asList(names));
+            return this;
+        }
+
+        public SparseFieldset<T> build() {
+            return new SparseFieldset<>(entityType, Collections.unmodifiableMap(new LinkedHashMap<>(fields)),
+                    Collections.unmodifiableSet(new LinkedHashSet<>(sortable)));
+        }
+    }
+}
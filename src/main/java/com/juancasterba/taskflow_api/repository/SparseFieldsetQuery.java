@@ -0,0 +1,99 @@
+package com.juancasterba.taskflow_api.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs listing queries that select only the columns of the requested fields.
+ *
+ * <p>Rows are read as JPA tuples, so no entity is instantiated, snapshotted for dirty checking
+ * or registered in the persistence context, and associations are never proxied. The same
+ * specifications, sorting and paging as the entity listings apply, and so does the soft-delete
+ * filter.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class SparseFieldsetQuery {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Returns a page of rows holding the selected fields, in the requested order.
+     *
+     * @param fieldset The fields that can be selected.
+     * @param fields   The selected field names, as returned by {@link SparseFieldset#parse}.
+     * @param spec     The restriction to apply; may be {@code null}.
+     * @param pageable The page and sort to fetch.
+     * @return The page of rows, each a field name to value map.
+     * @throws com.juancasterba.taskflow_api.exception.BadRequestException if the page is sorted
+     *         by a property the fieldset does not declare sortable.
+     */
+    public <T> Page<Map<String, Object>> findAll(SparseFieldset<T> fieldset, List<String> fields,
+                                                 @Nullable Specification<T> spec, Pageable pageable) {
+        fieldset.checkSort(pageable.getSort());
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(fieldset.entityType());
+        query.multiselect(fields.stream()
+                .<Selection<?>>map(field -> fieldset.expression(root, field).alias(field))
+                .toList());
+        applySpecification(spec, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> rows = typedQuery.getResultList().stream()
+                .map(tuple -> toRow(tuple, fields))
+                .toList();
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(fieldset, spec));
+    }
+
+    private <T> long count(SparseFieldset<T> fieldset, @Nullable Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(fieldset.entityType());
+        query.select(cb.count(root));
+        applySpecification(spec, root, query, cb);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static <T> void applySpecification(@Nullable Specification<T> spec, Root<T> root,
+                                               CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (spec == null) {
+            return;
+        }
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    private static Map<String, Object> toRow(Tuple tuple, List<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            row.put(field, tuple.get(field));
+        }
+        return row;
+    }
+}
@@ -1,13 +1,62 @@
 package com.juancasterba.taskflow_api.repository;
 
-import com.juancasterba.taskflow_api.model.Project;
+import com.juancasterba.taskflow_api.dto.InboxTaskResponseDTO;
 import com.juancasterba.taskflow_api.model.Task;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    Page<Task> findByProject(Project project, Pageable pageable);
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+
+    /**
+     * Returns the open (active and not completed) tasks of every active project owned by a user,
+     * newest first, starting right after the given cursor.
+     *
+     * <p>This is a single join between {@code projects} and {@code tasks} projected straight into
+     * DTOs, so no entity is loaded into the persistence context. The predicates match the partial
+     * indexes on active projects by owner and on open tasks by project.</p>
+     *
+     * @param ownerId The ID of the user owning the projects.
+     * @param beforeId Keyset cursor: only tasks with an ID lower than this one are returned.
+     * @param limit The maximum number of rows to fetch.
+     * @return The open tasks ordered by descending ID.
+     */
+    @Query("""
+            SELECT new com.juancasterba.taskflow_api.dto.InboxTaskResponseDTO(
+                t.id, t.title, t.description, t.createdAt, t.updatedAt, p.id, p.name)
+            FROM Task t
+            JOIN t.project p
+            WHERE p.owner.id = :ownerId
+              AND p.status = com.juancasterba.taskflow_api.model.Status.ACTIVE
+              AND t.status = com.juancasterba.taskflow_api.model.Status.ACTIVE
+              AND t.completed = false
+              AND t.id < :beforeId
+            ORDER BY t.id DESC
+            """)
+    List<InboxTaskResponseDTO> findOpenTasksByOwner(@Param("ownerId") Long ownerId,
+                                                    @Param("beforeId") Long beforeId,
+                                                    Limit limit);
+
+    /**
+     * Returns the tasks of a project changed after a point of its change sequence, in sequence
+     * order. Archived tasks are included as tombstones only when the soft-delete filter is lifted.
+     *
+     * @param projectId The ID of the project.
+     * @param since Watermark: only tasks with a higher change sequence value are returned.
+     * @param limit The maximum number of rows to fetch.
+     * @return The changed tasks ordered by ascending change sequence value.
+     */
+    @Query("""
+            SELECT t FROM Task t
+            WHERE t.project.id = :projectId
+              AND t.changeSeq > :since
+            ORDER BY t.changeSeq
+            """)
+    List<Task> findChangesSince(@Param("projectId") Long projectId, @Param("since") long since, Limit limit);
 }
@@ -0,0 +1,92 @@
+package com.juancasterba.taskflow_api.repository;
+
+import com.juancasterba.taskflow_api.dto.TaskFilterDTO;
+import com.juancasterba.taskflow_api.model.Project;
+import com.juancasterba.taskflow_api.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Factory of {@link Specification}s used to build the dynamic task listing queries.
+ *
+ * <p>Each predicate is shaped to match one of the indexes declared on the {@code tasks}
+ * table: every query is anchored on {@code project_id}, the open-task filter matches the
+ * partial index on active, not completed tasks, and the title prefix is evaluated against
+ * {@code lower(title)} so the {@code text_pattern_ops} expression index can be used.</p>
+ */
+public final class TaskSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Builds the specification for the tasks of a project, narrowed by the given filter.
+     *
+     * @param project The project the tasks must belong to.
+     * @param filter The optional filters; may be {@code null}.
+     * @return The combined {@link Specification}.
+     */
+    public static Specification<Task> forProject(Project project, TaskFilterDTO filter) {
+        Specification<Task> spec = belongsTo(project);
+        if (filter == null) {
+            return spec;
+        }
+        return spec
+                .and(hasCompleted(filter.getCompleted()))
+                .and(titleStartsWith(filter.getTitlePrefix()))
+                .and(between("createdAt", filter.getCreatedFrom(), filter.getCreatedTo()))
+                .and(between("updatedAt", filter.getUpdatedFrom(), filter.getUpdatedTo()));
+    }
+
+    public static Specification<Task> belongsTo(Project project) {
+        return (root, query, cb) -> cb.equal(root.get("project"), project);
+    }
+
+    public static Specification<Task> hasCompleted(Boolean completed) {
+        if (completed == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("completed"), completed);
+    }
+
+    public static Specification<Task> titleStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String pattern = escapeLike(prefix.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("title")), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * Restricts a timestamp attribute to the half-open range {@code [from, to)}.
+     * Missing bounds are left open.
+     */
+    public static Specification<Task> between(String attribute, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (from == null) {
+                return cb.lessThan(root.get(attribute), to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get(attribute), from);
+            }
+            return cb.and(
+                    cb.greaterThanOrEqualTo(root.get(attribute), from),
+                    cb.lessThan(root.get(attribute), to)
+            );
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,289 @@
+package com.juancasterba.taskflow_api.retention;
+
+import com.juancasterba.taskflow_api.dto.events.PurgeEventDTO;
+import com.juancasterba.taskflow_api.dto.events.PurgeEventDTO.EntityType;
+import com.juancasterba.taskflow_api.events.TaskEventPublisher;
+import com.juancasterba.taskflow_api.throttling.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Permanently deletes tasks and projects that have been archived for longer than
+ * {@code taskflow.retention.max-age}.
+ * <p>
+ * Rows are deleted in chunks walked in {@code (archived_at, id)} order, and every chunk is a
+ * single auto-committed statement, so the purge never holds a long transaction or many row
+ * locks. Between chunks the job keeps the delete rate under {@code max-rows-per-second} and
+ * waits while the API is busy, judged by the utilization of the adaptive concurrency limit.
+ * A purge event is published to {@code purge-topic} for every deleted row, and the job waits
+ * up to {@code publish-timeout} for Kafka to acknowledge the events of a chunk before deleting
+ * the next one. If Kafka rejects or does not acknowledge them, the run stops: the events of
+ * that last chunk may be lost, but no further rows are deleted until the next run.
+ * <p>
+ * Purged tasks leave no tombstone behind, so every chunk also raises the sync floor of the
+ * affected projects: task change clients whose watermark is below it are told to start over.
+ */
+@Slf4j
+@Component
+public class ArchivePurgeJob {
+
+    // Keyset start: before any archived_at the application can have written.
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // Purged tasks are taken off the task counters of their projects in the same statement, which
+    // also raises the sync floor of those projects (the %s) so that clients that may still hold
+    // them are told to start over.
+    private static final String UPDATE_COUNTERS_AND_RETURN_DELETED = """
+            , counted AS (
+                UPDATE projects p SET
+                    %s,
+                    total_tasks = p.total_tasks - d.total,
+                    open_tasks = p.open_tasks - d.open,
+                    completed_tasks = p.completed_tasks - d.completed,
+                    archived_tasks = p.archived_tasks - d.archived
+                FROM (
+                    SELECT project_id, count(*) AS total,
+                           count(*) FILTER (WHERE status = 'ACTIVE' AND NOT completed) AS open,
+                           count(*) FILTER (WHERE status = 'ACTIVE' AND completed) AS completed,
+                           count(*) FILTER (WHERE status = 'ARCHIVED') AS archived,
+                           max(change_seq) AS last_change_seq
+                    FROM deleted
+                    GROUP BY project_id
+                ) d
+                WHERE p.id = d.project_id
+            )
+            SELECT id, project_id, archived_at FROM deleted""";
+    private static final String PURGE_TASKS_SQL = """
+            WITH chunk AS (
+                SELECT id FROM tasks
+                WHERE status = 'ARCHIVED' AND archived_at < ? AND (archived_at, id) > (?, ?)
+                ORDER BY archived_at, id
+                LIMIT ?
+            ), deleted AS (
+                DELETE FROM tasks t USING chunk
+                WHERE t.id = chunk.id AND t.status = 'ARCHIVED'
+                RETURNING t.id, t.project_id, t.archived_at, t.status, t.completed, t.change_seq
+            )
+            """ + UPDATE_COUNTERS_AND_RETURN_DELETED.formatted(
+            // Only tombstones: a client that got past the newest purged one has seen them all.
+            "sync_floor = greatest(p.sync_floor, d.last_change_seq)");
+    private static final String SELECT_PROJECTS_SQL = """
+            SELECT id, id AS project_id, archived_at FROM projects
+            WHERE status = 'ARCHIVED' AND archived_at < ? AND (archived_at, id) > (?, ?)
+            ORDER BY archived_at, id
+            LIMIT ?""";
+    // Tasks of a purged project go first, whatever their own status: they reference the project.
+    private static final String PURGE_PROJECT_TASKS_SQL = """
+            WITH chunk AS (
+                SELECT t.id, t.status FROM tasks t
+                JOIN projects p ON p.id = t.project_id
+                WHERE p.id = ANY (?) AND p.status = 'ARCHIVED'
+                LIMIT ?
+            ), deleted AS (
+                DELETE FROM tasks t USING chunk
+                WHERE t.id = chunk.id AND t.status = chunk.status
+                RETURNING t.id, t.project_id, t.archived_at, t.status, t.completed, t.change_seq
+            )
+            """ + UPDATE_COUNTERS_AND_RETURN_DELETED.formatted(
+            // Active tasks too, which any client may hold: like a hard delete, every watermark
+            // handed out so far becomes unusable.
+            "change_seq = p.change_seq + 1, sync_floor = p.change_seq + 1");
+    // A project that got a task after its tasks were purged is left for the next run.
+    private static final String PURGE_PROJECTS_SQL = """
+            DELETE FROM projects p
+            WHERE p.id = ANY (?) AND p.status = 'ARCHIVED'
+              AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.project_id = p.id)
+            RETURNING p.id, p.id AS project_id, p.archived_at""";
+
+    private static final RowMapper<PurgedRow> PURGED_ROW_MAPPER = (resultSet, rowNum) -> new PurgedRow(
+            resultSet.getLong("id"),
+            resultSet.getLong("project_id"),
+            resultSet.getObject("archived_at", LocalDateTime.class));
+    private static final Comparator<PurgedRow> KEYSET_ORDER =
+            Comparator.comparing(PurgedRow::archivedAt).thenComparingLong(PurgedRow::id);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskEventPublisher taskEventPublisher;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RetentionProperties properties;
+    private final Counter purgedTasks;
+    private final Counter purgedProjects;
+    private final Counter pauses;
+    private final Timer runTimer;
+
+    private record PurgedRow(long id, long projectId, LocalDateTime archivedAt) {
+    }
+
+    public ArchivePurgeJob(JdbcTemplate jdbcTemplate, TaskEventPublisher taskEventPublisher,
+                           AdaptiveConcurrencyLimiter concurrencyLimiter, RetentionProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskEventPublisher = taskEventPublisher;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.properties = properties;
+        this.purgedTasks = purgedCounter(meterRegistry, "task");
+        this.purgedProjects = purgedCounter(meterRegistry, "project");
+        this.pauses = Counter.builder("taskflow.retention.pauses")
+                .description("Times the purge waited for the API load to drop")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("taskflow.retention.run")
+                .description("Duration of a purge run, including the time spent throttled or paused")
+                .register(meterRegistry);
+    }
+
+    private static Counter purgedCounter(MeterRegistry meterRegistry, String entity) {
+        return Counter.builder("taskflow.retention.purged")
+                .description("Archived rows permanently deleted by the retention job")
+                .tag("entity", entity)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${taskflow.retention.interval:1h}",
+            initialDelayString = "${taskflow.retention.interval:1h}")
+    public void purge() {
+        if (!properties.enabled()) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.maxAge());
+        double tasksBefore = purgedTasks.count();
+        double projectsBefore = purgedProjects.count();
+        long start = System.nanoTime();
+        try {
+            purgeTasks(cutoff);
+            purgeProjects(cutoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Retention purge interrupted");
+        } catch (RuntimeException e) {
+            log.error("Retention purge stopped, it will resume on the next run: {}", e.getMessage(), e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Retention purge deleted {} tasks and {} projects archived before {} in {} ms",
+                    (long) (purgedTasks.count() - tasksBefore), (long) (purgedProjects.count() - projectsBefore),
+                    cutoff, elapsed / 1_000_000);
+        }
+    }
+
+    private void purgeTasks(LocalDateTime cutoff) throws InterruptedException {
+        LocalDateTime afterArchivedAt = KEYSET_START;
+        long afterId = 0;
+        while (true) {
+            awaitLowLoad();
+            long chunkStart = System.nanoTime();
+            List<PurgedRow> rows = jdbcTemplate.query(PURGE_TASKS_SQL, PURGED_ROW_MAPPER,
+                    cutoff, afterArchivedAt, afterId, properties.chunkSize());
+            if (rows.isEmpty()) {
+                return;
+            }
+            purgedTasks.increment(rows.size());
+            publish(EntityType.TASK, rows);
+
+            // RETURNING does not keep the order of the chunk.
+            PurgedRow last = rows.stream().max(KEYSET_ORDER).orElseThrow();
+            afterArchivedAt = last.archivedAt();
+            afterId = last.id();
+            pace(rows.size(), chunkStart);
+        }
+    }
+
+    private void purgeProjects(LocalDateTime cutoff) throws InterruptedException {
+        LocalDateTime afterArchivedAt = KEYSET_START;
+        long afterId = 0;
+        while (true) {
+            List<PurgedRow> projects = jdbcTemplate.query(SELECT_PROJECTS_SQL, PURGED_ROW_MAPPER,
+                    cutoff, afterArchivedAt, afterId, properties.chunkSize());
+            if (projects.isEmpty()) {
+                return;
+            }
+            Object[] projectIds = projects.stream().map(PurgedRow::id).toArray();
+
+            List<PurgedRow> tasks;
+            do {
+                awaitLowLoad();
+                long chunkStart = System.nanoTime();
+                tasks = deleteByProjectIds(PURGE_PROJECT_TASKS_SQL, projectIds, true);
+                purgedTasks.increment(tasks.size());
+                publish(EntityType.TASK, tasks);
+                pace(tasks.size(), chunkStart);
+            } while (tasks.size() == properties.chunkSize());
+
+            awaitLowLoad();
+            long chunkStart = System.nanoTime();
+            List<PurgedRow> deleted = deleteByProjectIds(PURGE_PROJECTS_SQL, projectIds, false);
+            purgedProjects.increment(deleted.size());
+            publish(EntityType.PROJECT, deleted);
+
+            PurgedRow last = projects.get(projects.size() - 1);
+            afterArchivedAt = last.archivedAt();
+            afterId = last.id();
+            pace(deleted.size(), chunkStart);
+        }
+    }
+
+    private List<PurgedRow> deleteByProjectIds(String sql, Object[] projectIds, boolean limited) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("bigint", projectIds));
+            if (limited) {
+                statement.setInt(2, properties.chunkSize());
+            }
+            return statement;
+        }, PURGED_ROW_MAPPER);
+    }
+
+    private void publish(EntityType entityType, List<PurgedRow> rows) throws InterruptedException {
+        if (!properties.publishEvents() || rows.isEmpty()) {
+            return;
+        }
+        Instant purgedAt = Instant.now();
+        CompletableFuture<?>[] acknowledgements = rows.stream()
+                .map(row -> taskEventPublisher.publish(
+                        new PurgeEventDTO(entityType, row.id(), row.projectId(), row.archivedAt(), purgedAt),
+                        properties.purgeTopic()))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(acknowledgements).get(properties.publishTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Kafka rejected the purge events of the last chunk", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Kafka did not acknowledge the purge events of the last chunk within "
+                    + properties.publishTimeout(), e);
+        }
+    }
+
+    /**
+     * Sleeps for whatever is left of the time the chunk is allowed to take at the maximum rate.
+     */
+    private void pace(int rows, long chunkStartNanos) throws InterruptedException {
+        long minimumNanos = rows * 1_000_000_000L / properties.maxRowsPerSecond();
+        long remainingNanos = minimumNanos - (System.nanoTime() - chunkStartNanos);
+        if (remainingNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(remainingNanos);
+        }
+    }
+
+    private void awaitLowLoad() throws InterruptedException {
+        while (concurrencyLimiter.utilization() >= properties.pauseAboveUtilization()) {
+            pauses.increment();
+            log.debug("API under load, pausing the retention purge for {}", properties.pauseDuration());
+            Thread.sleep(properties.pauseDuration().toMillis());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.juancasterba.taskflow_api.retention;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RetentionProperties.class)
+public class RetentionConfig {
+}
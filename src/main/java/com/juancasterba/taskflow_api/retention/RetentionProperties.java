@@ -0,0 +1,65 @@
+package com.juancasterba.taskflow_api.retention;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the archived data purge, bound from {@code taskflow.retention.*}.
+ *
+ * @param enabled               Whether archived rows are purged at all.
+ * @param maxAge                How long a task or project stays archived before it is purged.
+ * @param interval              Time between the end of one purge run and the start of the next.
+ * @param chunkSize             Rows deleted per statement; each chunk commits on its own.
+ * @param maxRowsPerSecond      Upper bound of the delete rate, to spread out vacuum and WAL work.
+ * @param pauseAboveUtilization Concurrency limit utilization (0-1) above which the purge waits
+ *                              for the API load to drop before the next chunk.
+ * @param pauseDuration         How long to wait before checking the load again.
+ * @param publishEvents         Whether a purge event is published to Kafka for every deleted row;
+ *                              true when not set.
+ * @param purgeTopic            Kafka topic of the purge events, separate from the task events.
+ * @param publishTimeout        How long to wait for Kafka to acknowledge the events of a chunk
+ *                              before the run stops.
+ */
+@ConfigurationProperties("taskflow.retention")
+public record RetentionProperties(
+        boolean enabled,
+        Duration maxAge,
+        Duration interval,
+        int chunkSize,
+        int maxRowsPerSecond,
+        double pauseAboveUtilization,
+        Duration pauseDuration,
+        @DefaultValue("true") boolean publishEvents,
+        String purgeTopic,
+        Duration publishTimeout
+) {
+
+    public RetentionProperties {
+        if (maxAge == null) {
+            maxAge = Duration.ofDays(90);
+        }
+        if (interval == null) {
+            interval = Duration.ofHours(1);
+        }
+        if (chunkSize <= 0) {
+            chunkSize = 500;
+        }
+        if (maxRowsPerSecond <= 0) {
+            maxRowsPerSecond = 1000;
+        }
+        if (pauseAboveUtilization <= 0) {
+            pauseAboveUtilization = 0.5;
+        }
+        if (pauseDuration == null) {
+            pauseDuration = Duration.ofSeconds(5);
+        }
+        if (purgeTopic == null || purgeTopic.isBlank()) {
+            purgeTopic = "tasks-purged";
+        }
+        if (publishTimeout == null) {
+            publishTimeout = Duration.ofSeconds(30);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.juancasterba.taskflow_api.security.config;
 
+import com.juancasterba.taskflow_api.observability.jfr.JwtVerificationEvent;
+import com.juancasterba.taskflow_api.security.service.jwt.AccessToken;
 import com.juancasterba.taskflow_api.security.service.jwt.JwtService;
+import com.juancasterba.taskflow_api.security.service.token.TokenRevocationList;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +28,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+    private final ObservationRegistry observationRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -39,21 +46,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         final String jwt = authHeader.substring(7);
-        final String username = jwtService.extractUsername(jwt);
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+
+        // Observes the whole verification (token parsing, revocation check and user lookup)
+        // as a span, as the taskflow.jwt.verification timer and as a JFR event.
+        Observation observation = Observation.start("taskflow.jwt.verification", observationRegistry);
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        String outcome = "error";
+        try (Observation.Scope scope = observation.openScope()) {
+            outcome = authenticate(jwt, request);
+        } catch (RuntimeException ex) {
+            observation.error(ex);
+            throw ex;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome);
+            observation.stop();
+            event.outcome = outcome;
+            event.commit();
         }
         filterChain.doFilter(request, response);
     }
+
+    // Returns the outcome used to tag the verification observation.
+    private String authenticate(String jwt, HttpServletRequest request) {
+        final AccessToken token = jwtService.parseAccessToken(jwt);
+
+        if (token.username() == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+            return "skipped";
+        }
+        // In-memory check, no query: see TokenRevocationList.
+        if (revocationList.isRevoked(token.tokenId()) || revocationList.isRevoked(token.sessionId())) {
+            return "revoked";
+        }
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(token.username());
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        return "valid";
+    }
 }
@@ -0,0 +1,97 @@
+package com.juancasterba.taskflow_api.security.config;
+
+import com.juancasterba.taskflow_api.security.service.jwt.JwtKeyRing;
+import com.juancasterba.taskflow_api.security.service.jwt.JwtSigningKey;
+import com.juancasterba.taskflow_api.security.service.jwt.JwtSigningProperties;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Builds the {@link JwtKeyRing} from {@code jwt.signing.*}. The legacy HMAC secret
+ * ({@code jwt.secret.key}), when set, signs tokens only if no asymmetric key is active;
+ * otherwise it just keeps the tokens it signed valid until they expire.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(JwtSigningProperties.class)
+public class JwtKeyConfig {
+
+    @Bean
+    public JwtKeyRing jwtKeyRing(JwtSigningProperties properties, @Value("${jwt.secret.key:}") String legacySecret) {
+        List<JwtSigningKey> keys = new ArrayList<>();
+        for (JwtSigningProperties.Key key : properties.keys()) {
+            keys.add(parse(key));
+        }
+        JwtSigningKey legacyKey = null;
+        if (StringUtils.hasText(legacySecret)) {
+            SecretKey secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(legacySecret));
+            legacyKey = new JwtSigningKey(null, secretKey.getAlgorithm(), secretKey, secretKey);
+            keys.add(legacyKey);
+        }
+
+        JwtSigningKey activeKey;
+        if (StringUtils.hasText(properties.activeKeyId())) {
+            activeKey = keys.stream()
+                    .filter(key -> properties.activeKeyId().equals(key.id()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException(
+                            "jwt.signing.active-key-id '" + properties.activeKeyId() + "' is not in jwt.signing.keys"));
+        } else if (legacyKey != null) {
+            log.warn("Signing JWTs with the shared HMAC secret; configure jwt.signing keys to publish them in the JWKS");
+            activeKey = legacyKey;
+        } else {
+            throw new IllegalStateException("No JWT signing key configured: set jwt.signing.* or jwt.secret.key");
+        }
+        return new JwtKeyRing(activeKey, keys);
+    }
+
+    private static JwtSigningKey parse(JwtSigningProperties.Key key) {
+        if (!StringUtils.hasText(key.id()) || !StringUtils.hasText(key.publicKey())) {
+            throw new IllegalStateException("Every jwt.signing.keys entry needs an id and a public-key");
+        }
+        String keyFactoryAlgorithm = switch (String.valueOf(key.algorithm())) {
+            case "EdDSA" -> "Ed25519";
+            case "ES256" -> "EC";
+            default -> throw new IllegalStateException(
+                    "Unsupported algorithm '" + key.algorithm() + "' for JWT key '" + key.id() + "'; use EdDSA or ES256");
+        };
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyFactoryAlgorithm);
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(decode(key.publicKey())));
+            PrivateKey privateKey = StringUtils.hasText(key.privateKey())
+                    ? keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decode(key.privateKey())))
+                    : null;
+            if (publicKey instanceof ECPublicKey ecPublicKey
+                    && ecPublicKey.getParams().getCurve().getField().getFieldSize() != 256) {
+                throw new IllegalStateException("JWT key '" + key.id() + "' must be on the P-256 curve for ES256");
+            }
+            return JwtSigningKey.asymmetric(key.id(), key.algorithm(), privateKey, publicKey);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid key material for JWT key '" + key.id() + "'", e);
+        }
+    }
+
+    // Accepts PEM (with or without the BEGIN/END lines) or bare base64.
+    private static byte[] decode(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END)[A-Z ]*-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
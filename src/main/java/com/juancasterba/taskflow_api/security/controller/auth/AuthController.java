@@ -3,6 +3,7 @@ package com.juancasterba.taskflow_api.security.controller.auth;
 import com.juancasterba.taskflow_api.dto.ErrorResponseDTO;
 import com.juancasterba.taskflow_api.security.dto.LoginRequestDTO;
 import com.juancasterba.taskflow_api.security.dto.LoginResponseDTO;
+import com.juancasterba.taskflow_api.security.dto.RefreshTokenRequestDTO;
 import com.juancasterba.taskflow_api.security.dto.RegisterRequestDTO;
 import com.juancasterba.taskflow_api.security.dto.RegisterResponseDTO;
 import com.juancasterba.taskflow_api.security.service.auth.AuthService;
@@ -59,7 +60,7 @@ public class AuthController {
     @PostMapping("/login")
     @Operation(
             summary = "User login",
-            description = "Authenticates a user and returns a JWT token if the credentials are correct."
+            description = "Authenticates a user and returns a short-lived JWT token and a refresh token if the credentials are correct."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -80,4 +81,52 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(request));
     }
 
+    @PostMapping("/refresh")
+    @Operation(
+            summary = "Refresh the JWT token",
+            description = "Exchanges a refresh token for a new JWT token and a new refresh token. Each refresh token can be used only once; "
+                    + "presenting one that was already used revokes the whole session."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tokens refreshed successfully.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = LoginResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request. The refresh token was not provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized. The refresh token is invalid, expired or was already used.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    public ResponseEntity<LoginResponseDTO> refresh(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    @Operation(
+            summary = "User logout",
+            description = "Revokes the session of the given refresh token: its refresh tokens stop working and its JWT tokens are rejected from then on."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Session revoked, or the refresh token was unknown."),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request. The refresh token was not provided.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class))
+            )
+    })
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
+
 }
@@ -0,0 +1,56 @@
+package com.juancasterba.taskflow_api.security.controller.jwks;
+
+import com.juancasterba.taskflow_api.security.service.jwt.JwtKeyRing;
+import com.juancasterba.taskflow_api.security.service.jwt.JwtSigningKey;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@Tag(name = "Authentication", description = "Endpoints for user authentication and registration.")
+public class JwksController {
+
+    // Serialised once: the key ring does not change while the application runs.
+    private final Map<String, List<Map<String, ?>>> jwks;
+
+    public JwksController(JwtKeyRing keyRing) {
+        this.jwks = Map.of("keys", keyRing.publishableKeys().stream()
+                .map(JwksController::toJwk)
+                .toList());
+    }
+
+    private static Map<String, ?> toJwk(JwtSigningKey key) {
+        PublicJwk<?> jwk = Jwks.builder()
+                .key((PublicKey) key.verificationKey())
+                .id(key.id())
+                .algorithm(key.algorithm())
+                .publicKeyUse("sig")
+                .build();
+        return new LinkedHashMap<>(jwk);
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(
+            summary = "JSON Web Key Set",
+            description = "Public keys that tokens are signed with, selected by the kid header, so other services can verify tokens locally. "
+                    + "It includes keys that are about to become active and keys whose tokens have not expired yet."
+    )
+    @ApiResponse(responseCode = "200", description = "Key set returned successfully.")
+    public ResponseEntity<Map<String, List<Map<String, ?>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwks);
+    }
+}
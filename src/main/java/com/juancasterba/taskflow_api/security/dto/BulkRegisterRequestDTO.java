@@ -0,0 +1,18 @@
+package com.juancasterba.taskflow_api.security.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "Users to provision in a single request")
+public class BulkRegisterRequestDTO {
+
+    @NotEmpty(message = "At least one user is required")
+    @Schema(description = "Users to create. Each one is validated like a regular registration and reported on separately.",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<RegisterRequestDTO> users;
+
+}
@@ -0,0 +1,28 @@
+package com.juancasterba.taskflow_api.security.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Report of a bulk provisioning request, with one result per requested user")
+public class BulkRegisterResponseDTO {
+
+    @Schema(description = "Number of users in the request", example = "1000")
+    private int requested;
+
+    @Schema(description = "Number of users created", example = "997")
+    private int created;
+
+    @Schema(description = "Number of users rejected as invalid or duplicated", example = "3")
+    private int failed;
+
+    @Schema(description = "Per-user results, in request order")
+    private List<BulkRegisterResultDTO> results;
+
+}
@@ -0,0 +1,35 @@
+package com.juancasterba.taskflow_api.security.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a single user in a bulk provisioning request")
+public class BulkRegisterResultDTO {
+
+    public enum Outcome {
+        CREATED,
+        INVALID,
+        DUPLICATE
+    }
+
+    @Schema(description = "Position of the user in the request, starting at 0", example = "3")
+    private int index;
+
+    @Schema(description = "Username of the user as sent in the request", example = "jane.doe")
+    private String username;
+
+    @Schema(description = "Whether the user was created, rejected by validation, or already existed", example = "CREATED")
+    private Outcome outcome;
+
+    @Schema(description = "Identifier of the created user; null unless the outcome is CREATED", example = "25")
+    private Long id;
+
+    @Schema(description = "Why the user was not created; null when it was", example = "The provided username is already in use.")
+    private String message;
+
+}
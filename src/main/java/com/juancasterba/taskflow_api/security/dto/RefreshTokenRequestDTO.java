@@ -0,0 +1,15 @@
+package com.juancasterba.taskflow_api.security.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+@Schema(description = "Refresh token obtained from a login or a previous refresh")
+public class RefreshTokenRequestDTO {
+
+    @NotBlank(message = "Refresh token is required")
+    @Schema(description = "The refresh token", example = "qA9Xb3c5t1mZ0p8oR2uY6eW4sK7vL1nH3jG5fD8aQ0E", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String refreshToken;
+
+}
@@ -0,0 +1,49 @@
+package com.juancasterba.taskflow_api.security.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A refresh token issued at login or on rotation. Only the SHA-256 hash of the token is
+ * stored; every token of a login session shares the session id, which access tokens carry
+ * in their {@code sid} claim so the whole session can be revoked at once.
+ */
+@Entity
+@Table(
+        name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_tokens_session_id", columnList = "session_id"),
+                @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "session_id", nullable = false, length = 36)
+    private String sessionId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Set when the token is exchanged; presenting it again means it was stolen.
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+}
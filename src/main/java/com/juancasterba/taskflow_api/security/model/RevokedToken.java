@@ -0,0 +1,39 @@
+package com.juancasterba.taskflow_api.security.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * An access token id ({@code jti}) or login session id ({@code sid}) that must no longer be
+ * accepted. Rows are only needed until every access token they cover has expired.
+ */
+@Entity
+@Table(
+        name = "revoked_tokens",
+        indexes = {
+                @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+                @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+        }
+)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+}
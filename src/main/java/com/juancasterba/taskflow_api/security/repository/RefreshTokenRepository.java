@@ -0,0 +1,33 @@
+package com.juancasterba.taskflow_api.security.repository;
+
+import com.juancasterba.taskflow_api.security.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Conditional so that two concurrent exchanges of the same token cannot both succeed.
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :usedAt WHERE t.id = :id AND t.usedAt IS NULL")
+    int markUsed(@Param("id") Long id, @Param("usedAt") Instant usedAt);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.sessionId = :sessionId")
+    int deleteBySessionId(@Param("sessionId") String sessionId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
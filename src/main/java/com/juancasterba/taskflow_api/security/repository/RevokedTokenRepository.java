@@ -0,0 +1,21 @@
+package com.juancasterba.taskflow_api.security.repository;
+
+import com.juancasterba.taskflow_api.security.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfter(Instant revokedAfter, Instant expiresAfter);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
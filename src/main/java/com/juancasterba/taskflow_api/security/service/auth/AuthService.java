@@ -2,6 +2,7 @@ package com.juancasterba.taskflow_api.security.service.auth;
 
 import com.juancasterba.taskflow_api.security.dto.LoginRequestDTO;
 import com.juancasterba.taskflow_api.security.dto.LoginResponseDTO;
+import com.juancasterba.taskflow_api.security.dto.RefreshTokenRequestDTO;
 import com.juancasterba.taskflow_api.security.dto.RegisterRequestDTO;
 import com.juancasterba.taskflow_api.security.dto.RegisterResponseDTO;
 
@@ -9,5 +10,7 @@ public interface AuthService {
 
     public RegisterResponseDTO registerUser(RegisterRequestDTO dto);
     public LoginResponseDTO login(LoginRequestDTO request);
+    public LoginResponseDTO refresh(RefreshTokenRequestDTO request);
+    public void logout(RefreshTokenRequestDTO request);
 
 }
@@ -2,6 +2,7 @@ package com.juancasterba.taskflow_api.security.service.auth;
 
 import com.juancasterba.taskflow_api.security.dto.LoginRequestDTO;
 import com.juancasterba.taskflow_api.security.dto.LoginResponseDTO;
+import com.juancasterba.taskflow_api.security.dto.RefreshTokenRequestDTO;
 import com.juancasterba.taskflow_api.security.dto.RegisterRequestDTO;
 import com.juancasterba.taskflow_api.security.dto.RegisterResponseDTO;
 import com.juancasterba.taskflow_api.security.mapper.UserMapper;
@@ -10,24 +11,34 @@ import com.juancasterba.taskflow_api.security.model.User;
 import com.juancasterba.taskflow_api.security.repository.UserRepository;
 import com.juancasterba.taskflow_api.security.service.jwt.JwtService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.juancasterba.taskflow_api.security.service.password.PasswordHashingService;
+import com.juancasterba.taskflow_api.security.service.token.RefreshTokenService;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
+    private static final UserDetailsChecker ACCOUNT_STATUS_CHECKER = new AccountStatusUserDetailsChecker();
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+
+    // Compared against when the username does not exist, so unknown and known users take
+    // the same time to reject and usernames cannot be probed by timing.
+    private String missingUserPasswordHash;
 
     @Override
     public RegisterResponseDTO registerUser(RegisterRequestDTO dto) {
         User user = UserMapper.toUserEntity(dto);
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
         user.setRole(Role.USER);
         User savedUser = userRepository.save(user);
         return UserMapper.toUserResponseDTO(savedUser);
@@ -35,12 +46,43 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public LoginResponseDTO login(LoginRequestDTO request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
-        User user = userRepository.findByUsername(request.getUsername()).orElseThrow();
-        String token = jwtService.generateToken(user);
-        return new LoginResponseDTO(token);
+        // Single lookup: the user loaded to check the password is the one the token is issued for.
+        User user = userRepository.findByUsername(request.getUsername()).orElse(null);
+        if (user == null) {
+            passwordHashingService.matches(request.getPassword(), missingUserPasswordHash());
+            throw new BadCredentialsException("Invalid username or password");
+        }
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+            throw new BadCredentialsException("Invalid username or password");
+        }
+        ACCOUNT_STATUS_CHECKER.check(user);
+        // Every login starts a session; the refresh tokens issued from it share its id.
+        String sessionId = UUID.randomUUID().toString();
+        return tokens(user, sessionId, refreshTokenService.issue(user, sessionId));
+    }
+
+    @Override
+    public LoginResponseDTO refresh(RefreshTokenRequestDTO request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        ACCOUNT_STATUS_CHECKER.check(rotation.user());
+        return tokens(rotation.user(), rotation.sessionId(), rotation.refreshToken());
+    }
+
+    @Override
+    public void logout(RefreshTokenRequestDTO request) {
+        refreshTokenService.revokeSession(request.getRefreshToken());
+    }
+
+    private LoginResponseDTO tokens(User user, String sessionId, String refreshToken) {
+        String token = jwtService.generateToken(user, sessionId);
+        return new LoginResponseDTO(token, jwtService.getAccessTokenExpiration().toSeconds(), refreshToken);
+    }
+
+    private String missingUserPasswordHash() {
+        if (missingUserPasswordHash == null) {
+            missingUserPasswordHash = passwordHashingService.encode("missing-user-password");
+        }
+        return missingUserPasswordHash;
     }
 
 }
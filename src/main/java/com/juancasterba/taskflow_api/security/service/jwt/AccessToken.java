@@ -0,0 +1,14 @@
+package com.juancasterba.taskflow_api.security.service.jwt;
+
+import java.time.Instant;
+
+/**
+ * The claims of a verified access token that the authentication filter needs.
+ *
+ * @param username  The subject of the token.
+ * @param tokenId   The {@code jti} claim; null for tokens issued before revocation existed.
+ * @param sessionId The {@code sid} claim shared by every token of a login session.
+ * @param expiresAt When the token stops being accepted.
+ */
+public record AccessToken(String username, String tokenId, String sessionId, Instant expiresAt) {
+}
@@ -0,0 +1,62 @@
+package com.juancasterba.taskflow_api.security.service.jwt;
+
+import io.jsonwebtoken.UnsupportedJwtException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The keys tokens are signed and verified with, parsed once at startup. Tokens name their key
+ * in the {@code kid} header, so several keys can be accepted at the same time and rotation
+ * needs no downtime:
+ * <ol>
+ *   <li>add the new key as verify-only on every instance (it shows up in the JWKS);</li>
+ *   <li>make it the active key, so new tokens are signed with it;</li>
+ *   <li>remove the old key once the tokens it signed have expired.</li>
+ * </ol>
+ * Tokens without a {@code kid} were signed with the legacy HMAC secret.
+ */
+public class JwtKeyRing {
+
+    private final JwtSigningKey activeKey;
+    private final Map<String, JwtSigningKey> keysById;
+    private final JwtSigningKey legacyKey;
+
+    public JwtKeyRing(JwtSigningKey activeKey, List<JwtSigningKey> keys) {
+        if (!activeKey.canSign()) {
+            throw new IllegalArgumentException("The active JWT key '" + activeKey.id() + "' has no private key");
+        }
+        this.activeKey = activeKey;
+        this.keysById = new LinkedHashMap<>();
+        JwtSigningKey legacy = null;
+        for (JwtSigningKey key : keys) {
+            if (key.id() == null) {
+                legacy = key;
+            } else if (keysById.putIfAbsent(key.id(), key) != null) {
+                throw new IllegalArgumentException("Duplicate JWT key id '" + key.id() + "'");
+            }
+        }
+        this.legacyKey = legacy;
+    }
+
+    public JwtSigningKey activeKey() {
+        return activeKey;
+    }
+
+    public JwtSigningKey verificationKey(String keyId) {
+        JwtSigningKey key = keyId == null ? legacyKey : keysById.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT signing key: " + keyId);
+        }
+        return key;
+    }
+
+    /**
+     * The keys whose public half can be handed to other services, for the JWKS endpoint.
+     */
+    public Collection<JwtSigningKey> publishableKeys() {
+        return keysById.values().stream().filter(JwtSigningKey::isPublishable).toList();
+    }
+}
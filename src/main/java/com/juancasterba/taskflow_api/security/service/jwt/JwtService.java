@@ -2,12 +2,14 @@ package com.juancasterba.taskflow_api.security.service.jwt;
 
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Duration;
+
 public interface JwtService {
 
-    String generateToken(UserDetails userDetails);
+    String generateToken(UserDetails userDetails, String sessionId);
 
-    String extractUsername(String jwt);
+    AccessToken parseAccessToken(String jwt);
 
-    boolean isTokenValid(String jwt, UserDetails userDetails);
+    Duration getAccessTokenExpiration();
 
 }
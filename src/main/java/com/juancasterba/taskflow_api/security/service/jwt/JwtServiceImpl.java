@@ -1,76 +1,81 @@
 package com.juancasterba.taskflow_api.security.service.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
-import jakarta.annotation.PostConstruct;
+import io.jsonwebtoken.LocatorAdapter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.security.Key;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.Objects;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Service
 public class JwtServiceImpl implements JwtService {
 
-    @Value("${jwt.secret.key}")
-    private String SECRET_KEY;
+    private static final String SESSION_ID_CLAIM = "sid";
 
-    @PostConstruct
-    public void init() {
-        System.out.println("DEBUG: jwt.secret.key loaded: " + SECRET_KEY);
+    private final JwtKeyRing keyRing;
+    // Thread-safe; built once, it picks the verification key from the token's kid header.
+    private final JwtParser parser;
+
+    @Value("${jwt.access-token.expiration:15m}")
+    private Duration accessTokenExpiration = Duration.ofMinutes(15);
+
+    public JwtServiceImpl(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return keyRing.verificationKey(header.getKeyId()).verificationKey();
+                    }
+                })
+                .build();
     }
 
     @Override
-    public String generateToken(UserDetails userDetails) {
+    public String generateToken(UserDetails userDetails, String sessionId) {
         Instant now = Instant.now();
+        JwtSigningKey signingKey = keyRing.activeKey();
 
         return Jwts.builder()
+                .header().keyId(signingKey.id()).and()
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .claim("role", Objects.requireNonNull(userDetails.getAuthorities().stream().findFirst().orElse(null)).getAuthority())
+                .claim(SESSION_ID_CLAIM, sessionId)
                 .issuedAt(Date.from(now))
-                .expiration(Date.from(now.plus(10, ChronoUnit.HOURS)))
-                .signWith(getSigningKey())
+                .expiration(Date.from(now.plus(accessTokenExpiration)))
+                // The algorithm follows from the key: EdDSA, ES256, or HS256-512 for the legacy secret.
+                .signWith(signingKey.signingKey())
                 .compact();
     }
 
     @Override
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public AccessToken parseAccessToken(String token) {
+        // Parsing verifies the signature and rejects expired tokens, so one pass is enough.
+        Claims claims = extractAllClaims(token);
+        return new AccessToken(
+                claims.getSubject(),
+                claims.getId(),
+                claims.get(SESSION_ID_CLAIM, String.class),
+                claims.getExpiration().toInstant()
+        );
     }
 
     @Override
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
-    }
-
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public Duration getAccessTokenExpiration() {
+        return accessTokenExpiration;
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Key getSigningKey() {
-        byte[] keyBytes= Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
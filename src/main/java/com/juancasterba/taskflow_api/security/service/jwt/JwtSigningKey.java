@@ -0,0 +1,28 @@
+package com.juancasterba.taskflow_api.security.service.jwt;
+
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * A parsed key of the {@link JwtKeyRing}.
+ *
+ * @param id              The {@code kid}, or null for the legacy HMAC key, which predates key ids.
+ * @param algorithm       The JWS algorithm name, as published in the JWKS.
+ * @param signingKey      Private (or secret) key; null for keys that only verify.
+ * @param verificationKey Public (or secret) key.
+ */
+public record JwtSigningKey(String id, String algorithm, Key signingKey, Key verificationKey) {
+
+    public boolean canSign() {
+        return signingKey != null;
+    }
+
+    public boolean isPublishable() {
+        return verificationKey instanceof PublicKey;
+    }
+
+    public static JwtSigningKey asymmetric(String id, String algorithm, PrivateKey privateKey, PublicKey publicKey) {
+        return new JwtSigningKey(id, algorithm, privateKey, publicKey);
+    }
+}
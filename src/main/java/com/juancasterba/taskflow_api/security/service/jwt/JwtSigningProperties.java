@@ -0,0 +1,30 @@
+package com.juancasterba.taskflow_api.security.service.jwt;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Asymmetric signing keys, bound from {@code jwt.signing.*}.
+ *
+ * @param activeKeyId The key new tokens are signed with; it must have a private key.
+ * @param keys        Every key whose tokens are still accepted. Keys without a private key
+ *                    only verify, which is how a key is introduced before it becomes active
+ *                    and kept after it retires until its last tokens expire.
+ */
+@ConfigurationProperties("jwt.signing")
+public record JwtSigningProperties(String activeKeyId, List<Key> keys) {
+
+    public JwtSigningProperties {
+        keys = keys == null ? List.of() : List.copyOf(keys);
+    }
+
+    /**
+     * @param id         The {@code kid} written to token headers and published in the JWKS.
+     * @param algorithm  {@code EdDSA} (Ed25519) or {@code ES256} (P-256).
+     * @param privateKey PKCS#8 private key, PEM or bare base64.
+     * @param publicKey  X.509 public key, PEM or bare base64.
+     */
+    public record Key(String id, String algorithm, String privateKey, String publicKey) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.juancasterba.taskflow_api.security.service.password;
+
+public interface PasswordHashingService {
+
+    String encode(String rawPassword);
+
+    boolean matches(String rawPassword, String encodedPassword);
+
+}
@@ -0,0 +1,107 @@
+package com.juancasterba.taskflow_api.security.service.password;
+
+import com.juancasterba.taskflow_api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs BCrypt on a dedicated pool sized to the CPU cores, with a bounded queue in front of it.
+ * Hashing is deliberately expensive, so a login storm would otherwise keep every Tomcat thread
+ * busy on the CPU; here at most {@code threads + queue-capacity} requests wait for a hash and
+ * the rest are rejected right away with a 503.
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private static final String METRIC_PREFIX = "taskflow.password.hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHashingServiceImpl(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${taskflow.security.password-hashing.threads:0}") int threads,
+            @Value("${taskflow.security.password-hashing.queue-capacity:16}") int queueCapacity,
+            @Value("${taskflow.security.password-hashing.bcrypt-strength:10}") int bcryptStrength
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, METRIC_PREFIX, Tags.empty()).bindTo(meterRegistry);
+        this.encodeTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .description("Time spent hashing or verifying a password, excluding the wait in the queue")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .description("Time spent hashing or verifying a password, excluding the wait in the queue")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Hashing requests rejected because the pool and its queue were full")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".cost", () -> bcryptStrength)
+                .description("BCrypt cost factor (log2 of the key expansion rounds)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many authentication requests. Please retry shortly.");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,10 @@
+package com.juancasterba.taskflow_api.security.service.provisioning;
+
+import com.juancasterba.taskflow_api.security.dto.BulkRegisterRequestDTO;
+import com.juancasterba.taskflow_api.security.dto.BulkRegisterResponseDTO;
+
+public interface UserProvisioningService {
+
+    BulkRegisterResponseDTO registerUsers(BulkRegisterRequestDTO request);
+
+}
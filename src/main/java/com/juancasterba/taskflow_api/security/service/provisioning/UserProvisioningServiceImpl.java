@@ -0,0 +1,230 @@
+package com.juancasterba.taskflow_api.security.service.provisioning;
+
+import com.juancasterba.taskflow_api.exception.BadRequestException;
+import com.juancasterba.taskflow_api.security.dto.BulkRegisterRequestDTO;
+import com.juancasterba.taskflow_api.security.dto.BulkRegisterResponseDTO;
+import com.juancasterba.taskflow_api.security.dto.BulkRegisterResultDTO;
+import com.juancasterba.taskflow_api.security.dto.BulkRegisterResultDTO.Outcome;
+import com.juancasterba.taskflow_api.security.dto.RegisterRequestDTO;
+import com.juancasterba.taskflow_api.security.model.Role;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many users in one request without going through JPA: validation and duplicate
+ * detection happen in memory plus a single lookup query, BCrypt runs in parallel on a
+ * fork-join pool with one worker per core, and the rows are written with JDBC batches.
+ * Hashing dominates the cost, so throughput scales with the number of cores.
+ * <p>
+ * Batches are not wrapped in a transaction: every user is reported on separately, and a
+ * username or email taken by a concurrent registration between the lookup and the insert
+ * is skipped by {@code ON CONFLICT DO NOTHING} and reported as a duplicate.
+ */
+@Slf4j
+@Service
+public class UserProvisioningServiceImpl implements UserProvisioningService {
+
+    private static final String SELECT_EXISTING_SQL =
+            "SELECT username, email FROM users WHERE username = ANY (?) OR email = ANY (?)";
+    private static final String INSERT_SQL =
+            "INSERT INTO users (username, email, password, role) VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final String SELECT_IDS_SQL = "SELECT id, username FROM users WHERE username = ANY (?)";
+
+    private static final String USERNAME_TAKEN = "The provided username is already in use.";
+    private static final String EMAIL_TAKEN = "The provided email address is already registered.";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ForkJoinPool hashingPool;
+    private final int maxUsers;
+    private final int batchSize;
+
+    public UserProvisioningServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            Validator validator,
+            @Value("${taskflow.security.bulk-provisioning.max-users:10000}") int maxUsers,
+            @Value("${taskflow.security.bulk-provisioning.batch-size:500}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.maxUsers = maxUsers;
+        this.batchSize = batchSize;
+        this.hashingPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    private record PendingUser(int index, RegisterRequestDTO request) {
+    }
+
+    @Override
+    public BulkRegisterResponseDTO registerUsers(BulkRegisterRequestDTO request) {
+        List<RegisterRequestDTO> users = request.getUsers();
+        if (users.size() > maxUsers) {
+            throw new BadRequestException("A single request can provision at most " + maxUsers + " users.");
+        }
+        long start = System.nanoTime();
+        BulkRegisterResultDTO[] results = new BulkRegisterResultDTO[users.size()];
+
+        List<PendingUser> pending = validateAndDeduplicate(users, results);
+        pending = excludeExistingUsers(pending, results);
+        List<String> passwordHashes = hashPasswords(pending);
+        insertUsers(pending, passwordHashes, results);
+
+        List<BulkRegisterResultDTO> resultList = Arrays.asList(results);
+        int created = (int) resultList.stream().filter(result -> result.getOutcome() == Outcome.CREATED).count();
+        log.info("Bulk provisioning created {} of {} users in {} ms",
+                created, users.size(), (System.nanoTime() - start) / 1_000_000);
+        return new BulkRegisterResponseDTO(users.size(), created, users.size() - created, resultList);
+    }
+
+    private List<PendingUser> validateAndDeduplicate(List<RegisterRequestDTO> users, BulkRegisterResultDTO[] results) {
+        List<PendingUser> pending = new ArrayList<>(users.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            RegisterRequestDTO user = users.get(i);
+            if (user == null) {
+                results[i] = new BulkRegisterResultDTO(i, null, Outcome.INVALID, null, "User entry is empty.");
+                continue;
+            }
+            Set<ConstraintViolation<RegisterRequestDTO>> violations = validator.validate(user);
+            if (!violations.isEmpty()) {
+                results[i] = new BulkRegisterResultDTO(i, user.getUsername(), Outcome.INVALID, null,
+                        "Validation failed: " + describe(violations));
+            } else if (!usernames.add(user.getUsername())) {
+                results[i] = new BulkRegisterResultDTO(i, user.getUsername(), Outcome.DUPLICATE, null,
+                        "The username appears more than once in the request.");
+            } else if (!emails.add(user.getEmail())) {
+                results[i] = new BulkRegisterResultDTO(i, user.getUsername(), Outcome.DUPLICATE, null,
+                        "The email address appears more than once in the request.");
+            } else {
+                pending.add(new PendingUser(i, user));
+            }
+        }
+        return pending;
+    }
+
+    private static String describe(Set<ConstraintViolation<RegisterRequestDTO>> violations) {
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> String.format("'%s': %s", violation.getPropertyPath(), violation.getMessage()))
+                .collect(Collectors.joining("; "));
+    }
+
+    private List<PendingUser> excludeExistingUsers(List<PendingUser> pending, BulkRegisterResultDTO[] results) {
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_EXISTING_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar",
+                    pending.stream().map(user -> user.request().getUsername()).toArray()));
+            statement.setArray(2, connection.createArrayOf("varchar",
+                    pending.stream().map(user -> user.request().getEmail()).toArray()));
+            return statement;
+        }, resultSet -> {
+            takenUsernames.add(resultSet.getString("username"));
+            takenEmails.add(resultSet.getString("email"));
+        });
+
+        List<PendingUser> available = new ArrayList<>(pending.size());
+        for (PendingUser user : pending) {
+            String username = user.request().getUsername();
+            if (takenUsernames.contains(username)) {
+                results[user.index()] = new BulkRegisterResultDTO(user.index(), username, Outcome.DUPLICATE, null, USERNAME_TAKEN);
+            } else if (takenEmails.contains(user.request().getEmail())) {
+                results[user.index()] = new BulkRegisterResultDTO(user.index(), username, Outcome.DUPLICATE, null, EMAIL_TAKEN);
+            } else {
+                available.add(user);
+            }
+        }
+        return available;
+    }
+
+    private List<String> hashPasswords(List<PendingUser> pending) {
+        try {
+            return hashingPool.submit(() -> pending.parallelStream()
+                    .map(user -> passwordEncoder.encode(user.request().getPassword()))
+                    .toList()
+            ).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void insertUsers(List<PendingUser> pending, List<String> passwordHashes, BulkRegisterResultDTO[] results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Integer> positions = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            positions.add(i);
+        }
+        int[][] updateCounts = jdbcTemplate.batchUpdate(INSERT_SQL, positions, batchSize, (statement, position) -> {
+            RegisterRequestDTO user = pending.get(position).request();
+            statement.setString(1, user.getUsername());
+            statement.setString(2, user.getEmail());
+            statement.setString(3, passwordHashes.get(position));
+            statement.setString(4, Role.USER.name());
+        });
+
+        List<PendingUser> inserted = new ArrayList<>(pending.size());
+        int position = 0;
+        for (int[] batch : updateCounts) {
+            for (int updateCount : batch) {
+                PendingUser user = pending.get(position++);
+                if (updateCount == 0) {
+                    results[user.index()] = new BulkRegisterResultDTO(user.index(), user.request().getUsername(),
+                            Outcome.DUPLICATE, null, "The username or email address was registered concurrently.");
+                } else {
+                    inserted.add(user);
+                }
+            }
+        }
+
+        Map<String, Long> ids = new HashMap<>(inserted.size() * 2);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_IDS_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar",
+                    inserted.stream().map(user -> user.request().getUsername()).toArray()));
+            return statement;
+        }, resultSet -> {
+            ids.put(resultSet.getString("username"), resultSet.getLong("id"));
+        });
+        for (PendingUser user : inserted) {
+            String username = user.request().getUsername();
+            results[user.index()] = new BulkRegisterResultDTO(user.index(), username, Outcome.CREATED, ids.get(username), null);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+}
@@ -0,0 +1,72 @@
+package com.juancasterba.taskflow_api.security.service.token;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size Bloom filter of strings, safe for concurrent reads and writes. It answers
+ * "definitely not present" with no false negatives; positives must be confirmed against an
+ * exact set. Elements cannot be removed, so the filter is rebuilt when entries expire.
+ */
+class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+
+    BloomFilter(int capacity, double falsePositiveRate) {
+        this.capacity = Math.max(1, capacity);
+        long bits = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.capacity * Math.log(2)));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 chars, finished with a mixer so the low bits are usable.
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // SplitMix64 finaliser.
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
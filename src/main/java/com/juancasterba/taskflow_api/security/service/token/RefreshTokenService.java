@@ -0,0 +1,23 @@
+package com.juancasterba.taskflow_api.security.service.token;
+
+import com.juancasterba.taskflow_api.security.model.User;
+
+public interface RefreshTokenService {
+
+    /**
+     * A refresh token exchanged for a new one.
+     *
+     * @param user         The owner of the session.
+     * @param sessionId    The login session both tokens belong to.
+     * @param refreshToken The new refresh token, to be returned to the client.
+     */
+    record Rotation(User user, String sessionId, String refreshToken) {
+    }
+
+    String issue(User user, String sessionId);
+
+    Rotation rotate(String refreshToken);
+
+    void revokeSession(String refreshToken);
+
+}
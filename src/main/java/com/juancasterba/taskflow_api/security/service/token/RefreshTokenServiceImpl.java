@@ -0,0 +1,107 @@
+package com.juancasterba.taskflow_api.security.service.token;
+
+import com.juancasterba.taskflow_api.security.model.RefreshToken;
+import com.juancasterba.taskflow_api.security.model.User;
+import com.juancasterba.taskflow_api.security.repository.RefreshTokenRepository;
+import com.juancasterba.taskflow_api.security.service.jwt.JwtService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Opaque, single-use refresh tokens. Each exchange marks the presented token as used and
+ * issues a new one in the same session; presenting a used token again means it was copied,
+ * so the whole session is revoked, including its access tokens.
+ */
+@Slf4j
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationList revocationList;
+    private final JwtService jwtService;
+    private final Duration refreshTokenExpiration;
+
+    public RefreshTokenServiceImpl(
+            RefreshTokenRepository refreshTokenRepository,
+            TokenRevocationList revocationList,
+            JwtService jwtService,
+            @Value("${jwt.refresh-token.expiration:7d}") Duration refreshTokenExpiration
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revocationList = revocationList;
+        this.jwtService = jwtService;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+    }
+
+    @Override
+    @Transactional
+    public String issue(User user, String sessionId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setUser(user);
+        refreshToken.setSessionId(sessionId);
+        refreshToken.setExpiresAt(Instant.now().plus(refreshTokenExpiration));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    // The session revocation on reuse must be committed even though the exchange fails.
+    @Override
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    public Rotation rotate(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHashWithUser(hash(token))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        Instant now = Instant.now();
+        if (refreshToken.getExpiresAt().isBefore(now)) {
+            throw new BadCredentialsException("Refresh token has expired");
+        }
+        if (refreshTokenRepository.markUsed(refreshToken.getId(), now) == 0) {
+            log.warn("Refresh token reused for session {} of user {}; revoking the session",
+                    refreshToken.getSessionId(), refreshToken.getUser().getUsername());
+            revoke(refreshToken.getSessionId());
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+        User user = refreshToken.getUser();
+        return new Rotation(user, refreshToken.getSessionId(), issue(user, refreshToken.getSessionId()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeSession(String token) {
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .ifPresent(refreshToken -> revoke(refreshToken.getSessionId()));
+    }
+
+    private void revoke(String sessionId) {
+        refreshTokenRepository.deleteBySessionId(sessionId);
+        revocationList.revoke(sessionId, Instant.now().plus(jwtService.getAccessTokenExpiration()));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.juancasterba.taskflow_api.security.service.token;
+
+import com.juancasterba.taskflow_api.security.model.RevokedToken;
+import com.juancasterba.taskflow_api.security.repository.RefreshTokenRepository;
+import com.juancasterba.taskflow_api.security.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the {@code revoked_tokens} table, checked by the authentication filter on
+ * every request without touching the database. A Bloom filter answers the common case (the
+ * token was not revoked) with a few bit reads; only its positives are confirmed against the
+ * exact set, which removes the false positives.
+ * <p>
+ * Revocations made on this instance are visible immediately. Those made on other instances
+ * are picked up by {@link #sync()}, which also drops expired entries and rebuilds the filter.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    // Rows committed slightly out of order by other instances are still picked up.
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int minimumCapacity;
+    private final double falsePositiveRate;
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private Instant lastSync = Instant.EPOCH;
+
+    public TokenRevocationList(
+            RevokedTokenRepository revokedTokenRepository,
+            RefreshTokenRepository refreshTokenRepository,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.revocation.expected-entries:10000}") int minimumCapacity,
+            @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.minimumCapacity = minimumCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(minimumCapacity, falsePositiveRate);
+        Gauge.builder("taskflow.jwt.revoked", revoked, Map::size)
+                .description("Revoked access tokens and sessions held in memory")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        sync();
+    }
+
+    /**
+     * @param id An access token id or session id; null is never revoked.
+     */
+    public boolean isRevoked(String id) {
+        return id != null && bloomFilter.mightContain(id) && revoked.containsKey(id);
+    }
+
+    /**
+     * Revokes an access token id or session id until {@code expiresAt}, after which every
+     * access token it covers has expired anyway.
+     */
+    public void revoke(String id, Instant expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(id, Instant.now(), expiresAt));
+        add(id, expiresAt);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:10s}",
+            initialDelayString = "${jwt.revocation.sync-interval:10s}")
+    public void sync() {
+        Instant now = Instant.now();
+        // Advancing to the newest row seen, rather than to the current time, keeps the sync
+        // correct when it reads from a replica that lags behind.
+        Instant newest = lastSync;
+        for (RevokedToken token : revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(lastSync.minus(SYNC_OVERLAP), now)) {
+            add(token.getTokenId(), token.getExpiresAt());
+            if (token.getRevokedAt().isAfter(newest)) {
+                newest = token.getRevokedAt();
+            }
+        }
+        lastSync = newest;
+
+        boolean removed = revoked.entrySet().removeIf(entry -> entry.getValue().isBefore(now));
+        if (removed || revoked.size() > bloomFilter.capacity()) {
+            rebuild();
+        }
+        int purged = revokedTokenRepository.deleteExpired(now) + refreshTokenRepository.deleteExpired(now);
+        if (purged > 0) {
+            log.debug("Purged {} expired revocation and refresh token rows", purged);
+        }
+    }
+
+    // Adds and rebuilds are serialised so that an entry added during a rebuild cannot be
+    // missing from the new filter; reads never lock.
+    private synchronized void add(String id, Instant expiresAt) {
+        revoked.put(id, expiresAt);
+        bloomFilter.put(id);
+    }
+
+    private synchronized void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(minimumCapacity, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+    }
+}
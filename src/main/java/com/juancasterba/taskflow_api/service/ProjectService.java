@@ -5,17 +5,23 @@ import com.juancasterba.taskflow_api.dto.ProjectResponseDTO;
 import com.juancasterba.taskflow_api.exception.ResourceNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
 
 public interface ProjectService {
 
     ProjectResponseDTO createProject(CreateProjectRequestDTO projectDTO);
     Page<ProjectResponseDTO> getAllProjects(Pageable pageable);
+    Page<Map<String, Object>> getAllProjectFields(Pageable pageable, String fields);
     ProjectResponseDTO getProjectById(Long id) throws ResourceNotFoundException;
     ProjectResponseDTO updateProject(Long id, CreateProjectRequestDTO projectDTO) throws ResourceNotFoundException;
     void archiveProject(Long id) throws ResourceNotFoundException;
+    SseEmitter subscribeToChanges(Long id) throws ResourceNotFoundException;
 
     // ADMIN only methods
     void hardDeleteProject(Long id);
     Page<ProjectResponseDTO> findAllProjectsForAdmin(Pageable pageable);
+    Page<Map<String, Object>> findAllProjectFieldsForAdmin(Pageable pageable, String fields);
 
 }
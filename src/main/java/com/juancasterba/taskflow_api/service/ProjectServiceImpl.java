@@ -3,20 +3,30 @@ package com.juancasterba.taskflow_api.service;
 import com.juancasterba.taskflow_api.config.SecurityUtils;
 import com.juancasterba.taskflow_api.dto.CreateProjectRequestDTO;
 import com.juancasterba.taskflow_api.dto.ProjectResponseDTO;
+import com.juancasterba.taskflow_api.events.ProjectChangeBroadcaster;
+import com.juancasterba.taskflow_api.events.ProjectChangeEvent;
 import com.juancasterba.taskflow_api.exception.ResourceNotFoundException;
 import com.juancasterba.taskflow_api.mapper.ProjectMapper;
 import com.juancasterba.taskflow_api.model.Project;
 import com.juancasterba.taskflow_api.model.Status;
 import com.juancasterba.taskflow_api.repository.ProjectRepository;
+import com.juancasterba.taskflow_api.repository.SoftDeleteVisibility;
+import com.juancasterba.taskflow_api.repository.SparseFieldset;
+import com.juancasterba.taskflow_api.repository.SparseFieldsetQuery;
 import com.juancasterba.taskflow_api.security.model.User;
-import jakarta.persistence.EntityManager;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
-import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of the {@link ProjectService} interface.
@@ -29,12 +39,25 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Service
 @RequiredArgsConstructor
+@Observed(name = "taskflow.service")
 public class ProjectServiceImpl implements ProjectService{
 
+    // Fields a project listing can be narrowed to with the fields parameter, named as in
+    // ProjectResponseDTO. The nested tasks are not available: they are not columns of the row.
+    private static final SparseFieldset<Project> PROJECT_FIELDS = SparseFieldset.of(Project.class)
+            .attributes("id", "name", "description")
+            .field("ownerUsername", root -> root.join("owner").get("username"))
+            .attributes("status", "archivedAt", "totalTasks", "openTasks", "completedTasks", "archivedTasks")
+            .sortable("id", "name", "status", "createdAt", "archivedAt", "totalTasks", "openTasks", "completedTasks")
+            .build();
+
     private final ProjectRepository projectRepository;
     private final ProjectMapper projectMapper;
-    private final EntityManager entityManager;
+    private final SoftDeleteVisibility softDeleteVisibility;
     private final SecurityUtils securityUtils;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProjectChangeBroadcaster projectChangeBroadcaster;
+    private final SparseFieldsetQuery sparseFieldsetQuery;
 
     @Override
     @Transactional
@@ -54,6 +77,14 @@ public class ProjectServiceImpl implements ProjectService{
         return projectPage.map(projectMapper::toProjectDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllProjectFields(Pageable pageable, String fields) {
+        User currentUser = securityUtils.getCurrentAuthenticatedUser();
+        return sparseFieldsetQuery.findAll(PROJECT_FIELDS, PROJECT_FIELDS.parse(fields),
+                (root, query, cb) -> cb.equal(root.get("owner"), currentUser), pageable);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ProjectResponseDTO getProjectById(Long id) {
@@ -78,6 +109,7 @@ public class ProjectServiceImpl implements ProjectService{
         project.setName(projectDTO.getName());
         project.setDescription(projectDTO.getDescription());
         Project updatedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(ProjectChangeEvent.ofProject(ProjectChangeEvent.Type.PROJECT_UPDATED, id));
         return projectMapper.toProjectDTO(updatedProject);
     }
 
@@ -91,7 +123,21 @@ public class ProjectServiceImpl implements ProjectService{
         securityUtils.checkOwnershipOrAdmin(project, currentUser);
 
         project.setStatus(Status.ARCHIVED);
+        project.setArchivedAt(LocalDateTime.now());
         projectRepository.save(project);
+        eventPublisher.publishEvent(ProjectChangeEvent.ofProject(ProjectChangeEvent.Type.PROJECT_ARCHIVED, id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeToChanges(Long id) {
+        User currentUser = securityUtils.getCurrentAuthenticatedUser();
+        Project project = findProjectByIdOrThrow(id);
+
+        // Only the owner or an admin can follow the changes of a project.
+        securityUtils.checkOwnershipOrAdmin(project, currentUser);
+
+        return projectChangeBroadcaster.subscribe(project.getId());
     }
 
     // This method is not part of the public API but is required for admin operations.
@@ -105,6 +151,7 @@ public class ProjectServiceImpl implements ProjectService{
             throw new ResourceNotFoundException("Project not found with id: " + id);
         }
         projectRepository.deleteById(id);
+        eventPublisher.publishEvent(ProjectChangeEvent.ofProject(ProjectChangeEvent.Type.PROJECT_DELETED, id));
     }
 
     // This method is not part of the public API but is required for admin operations.
@@ -114,13 +161,21 @@ public class ProjectServiceImpl implements ProjectService{
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public Page<ProjectResponseDTO> findAllProjectsForAdmin(Pageable pageable) {
-        // The "activeStatusFilter" is likely a Hibernate filter to exclude ARCHIVED items.
-        // For this admin-specific method, we temporarily disable it to show all projects,
-        // including archived ones.
-        Session session= entityManager.unwrap(Session.class);
-        session.disableFilter("activeStatusFilter");
-        Page<Project> projectPage = projectRepository.findAll(pageable);
-        return projectPage.map(projectMapper::toProjectDTO);
+        // Archived projects are hidden by default; this admin view lifts the filter for
+        // the query and the mapping only.
+        return softDeleteVisibility.includingArchived(() -> {
+            Page<Project> projectPage = projectRepository.findAll(pageable);
+            return projectPage.map(projectMapper::toProjectDTO);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Page<Map<String, Object>> findAllProjectFieldsForAdmin(Pageable pageable, String fields) {
+        List<String> selected = PROJECT_FIELDS.parse(fields);
+        return softDeleteVisibility.includingArchived(
+                () -> sparseFieldsetQuery.findAll(PROJECT_FIELDS, selected, null, pageable));
     }
 
     /**
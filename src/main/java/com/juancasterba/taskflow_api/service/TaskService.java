@@ -1,17 +1,32 @@
 package com.juancasterba.taskflow_api.service;
 
 import com.juancasterba.taskflow_api.dto.CreateTaskRequestDTO;
+import com.juancasterba.taskflow_api.dto.CursorPageResponseDTO;
+import com.juancasterba.taskflow_api.dto.InboxTaskResponseDTO;
+import com.juancasterba.taskflow_api.dto.TaskChangesResponseDTO;
+import com.juancasterba.taskflow_api.dto.TaskFilterDTO;
 import com.juancasterba.taskflow_api.dto.TaskResponseDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Map;
+
 public interface TaskService {
 
     // Creates a task within a specific project
     TaskResponseDTO createTaskForProject(Long projectId, CreateTaskRequestDTO taskDTO);
 
-    // Gets a paginated list of tasks for a specific project
-    Page<TaskResponseDTO> getTasksByProjectId(Long projectId, Pageable pageable);
+    // Gets a paginated list of tasks for a specific project, narrowed by the optional filters
+    Page<TaskResponseDTO> getTasksByProjectId(Long projectId, TaskFilterDTO filter, Pageable pageable);
+
+    // Same listing, returning only the requested fields of each task
+    Page<Map<String, Object>> getTaskFieldsByProjectId(Long projectId, TaskFilterDTO filter, Pageable pageable, String fields);
+
+    // Gets the open tasks of every project owned by the current user, keyset-paginated
+    CursorPageResponseDTO<InboxTaskResponseDTO> getOpenTasksForCurrentUser(Long cursor, int size);
+
+    // Gets the tasks of a project created, updated or archived after a change sequence watermark
+    TaskChangesResponseDTO getTaskChanges(Long projectId, long since, int limit);
 
     // Gets a specific task by its ID
     TaskResponseDTO getTaskById(Long id);
@@ -29,4 +44,7 @@ public interface TaskService {
     // Returns ALL tasks (active and archived) for the admin view
     Page<TaskResponseDTO> findAllTasksForAdmin(Pageable pageable);
 
+    // Same admin listing, returning only the requested fields of each task
+    Page<Map<String, Object>> findAllTaskFieldsForAdmin(Pageable pageable, String fields);
+
 }
@@ -2,26 +2,44 @@ package com.juancasterba.taskflow_api.service;
 
 import com.juancasterba.taskflow_api.config.SecurityUtils;
 import com.juancasterba.taskflow_api.dto.CreateTaskRequestDTO;
+import com.juancasterba.taskflow_api.dto.CursorPageResponseDTO;
+import com.juancasterba.taskflow_api.dto.InboxTaskResponseDTO;
+import com.juancasterba.taskflow_api.dto.TaskChangesResponseDTO;
+import com.juancasterba.taskflow_api.dto.TaskFilterDTO;
 import com.juancasterba.taskflow_api.dto.TaskResponseDTO;
 import com.juancasterba.taskflow_api.dto.events.TaskEventDTO;
+import com.juancasterba.taskflow_api.events.ProjectChangeEvent;
+import com.juancasterba.taskflow_api.events.TaskEventPublisher;
+import com.juancasterba.taskflow_api.exception.BadRequestException;
 import com.juancasterba.taskflow_api.exception.ResourceNotFoundException;
 import com.juancasterba.taskflow_api.mapper.TaskMapper;
 import com.juancasterba.taskflow_api.model.Project;
 import com.juancasterba.taskflow_api.model.Status;
 import com.juancasterba.taskflow_api.model.Task;
 import com.juancasterba.taskflow_api.repository.ProjectRepository;
+import com.juancasterba.taskflow_api.repository.SoftDeleteVisibility;
+import com.juancasterba.taskflow_api.repository.SparseFieldset;
+import com.juancasterba.taskflow_api.repository.SparseFieldsetQuery;
 import com.juancasterba.taskflow_api.repository.TaskRepository;
-import jakarta.persistence.EntityManager;
+import com.juancasterba.taskflow_api.repository.TaskSpecifications;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Implementation of the {@link TaskService} interface.
  * This class contains the business logic for managing tasks, including creation,
@@ -31,14 +49,32 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Observed(name = "taskflow.service")
 public class TaskServiceImpl implements TaskService{
 
+    // Properties a project task listing can be sorted by. id, createdAt and updatedAt are the
+    // primary key or backed by one of the (project_id, ...) indexes on the tasks table; title
+    // and completed are not indexed, so those sorts read and sort every task of the project.
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "title", "completed", "createdAt", "updatedAt");
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.ASC, "id");
+    // Fields a task listing can be narrowed to with the fields parameter, named as in TaskResponseDTO.
+    // Project listings are further limited to SORTABLE_PROPERTIES; the admin listing may also
+    // sort by status and archivedAt.
+    private static final SparseFieldset<Task> TASK_FIELDS = SparseFieldset.of(Task.class)
+            .attributes("id", "title", "description", "completed", "status", "createdAt", "updatedAt", "archivedAt")
+            .sortable("id", "title", "completed", "status", "createdAt", "updatedAt", "archivedAt")
+            .build();
+    private static final int MAX_INBOX_PAGE_SIZE = 100;
+    private static final int MAX_CHANGES_PAGE_SIZE = 1000;
+
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final TaskMapper taskMapper;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TaskEventPublisher taskEventPublisher;
     private final SecurityUtils securityUtils;
-    private final EntityManager entityManager;
+    private final SoftDeleteVisibility softDeleteVisibility;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SparseFieldsetQuery sparseFieldsetQuery;
 
     @Override
     @Transactional
@@ -51,6 +87,7 @@ public class TaskServiceImpl implements TaskService{
 
         Task task = taskMapper.toTaskEntity(taskDTO);
         task.setProject(project);
+        recordChange(task, null);
         Task savedTask = taskRepository.save(task);
 
         // Asynchronously publish an event to Kafka about the new task creation.
@@ -59,31 +96,102 @@ public class TaskServiceImpl implements TaskService{
                 project.getName(), project.getOwner().getUsername(), project.getOwner().getEmail()
         );
 
-        // Send to Kafka and log the result for traceability.
-        kafkaTemplate.send("tasks-events", event).whenComplete((result, ex) -> {
-            if (ex == null) {
-                log.info("Successfully sent TaskEvent for task ID: {}", savedTask.getId());
-            } else {
-                log.error("Failed to send TaskEvent for task ID: {}. Reason: {}", savedTask.getId(), ex.getMessage());
-            }
-        });
+        taskEventPublisher.publish(event);
+        publishChange(ProjectChangeEvent.Type.TASK_CREATED, savedTask);
 
         return taskMapper.toTaskDTO(savedTask);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<TaskResponseDTO> getTasksByProjectId(Long projectId, Pageable pageable) {
+    public Page<TaskResponseDTO> getTasksByProjectId(Long projectId, TaskFilterDTO filter, Pageable pageable) {
         var currentUser = securityUtils.getCurrentAuthenticatedUser();
         Project project = findProjectByIdOrThrow(projectId);
 
         // Authorization check: A user can see tasks if they are the project owner or an admin.
         securityUtils.checkOwnershipOrAdmin(project, currentUser);
 
-        Page<Task> taskPage = taskRepository.findByProject(project, pageable);
+        Page<Task> taskPage = taskRepository.findAll(
+                TaskSpecifications.forProject(project, filter),
+                withSupportedSort(pageable)
+        );
         return taskPage.map(taskMapper::toTaskDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getTaskFieldsByProjectId(Long projectId, TaskFilterDTO filter, Pageable pageable, String fields) {
+        var currentUser = securityUtils.getCurrentAuthenticatedUser();
+        Project project = findProjectByIdOrThrow(projectId);
+
+        // Authorization check: A user can see tasks if they are the project owner or an admin.
+        securityUtils.checkOwnershipOrAdmin(project, currentUser);
+
+        return sparseFieldsetQuery.findAll(TASK_FIELDS, TASK_FIELDS.parse(fields),
+                TaskSpecifications.forProject(project, filter), withSupportedSort(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<InboxTaskResponseDTO> getOpenTasksForCurrentUser(Long cursor, int size) {
+        var currentUser = securityUtils.getCurrentAuthenticatedUser();
+        int pageSize = Math.min(Math.max(size, 1), MAX_INBOX_PAGE_SIZE);
+        long beforeId = cursor != null ? cursor : Long.MAX_VALUE;
+
+        // Fetch one extra row to know whether there is a next page without a count query.
+        List<InboxTaskResponseDTO> rows = taskRepository.findOpenTasksByOwner(
+                currentUser.getId(), beforeId, Limit.of(pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<InboxTaskResponseDTO> content = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return CursorPageResponseDTO.<InboxTaskResponseDTO>builder()
+                .content(content)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? content.get(content.size() - 1).getId() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChangesResponseDTO getTaskChanges(Long projectId, long since, int limit) {
+        var currentUser = securityUtils.getCurrentAuthenticatedUser();
+        Project project = findProjectByIdOrThrow(projectId);
+
+        // Authorization check: A user can sync tasks if they are the project owner or an admin.
+        securityUtils.checkOwnershipOrAdmin(project, currentUser);
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_CHANGES_PAGE_SIZE);
+        long watermark = Math.max(since, 0);
+
+        // Tasks removed without a tombstone after this watermark was handed out would stay on the
+        // client forever. It has to reload the project and continue from the current sequence value,
+        // which was read along with the floor, so no later change is missed.
+        if (watermark > 0 && watermark < project.getSyncFloor()) {
+            return TaskChangesResponseDTO.builder()
+                    .projectId(projectId)
+                    .changes(List.of())
+                    .watermark(project.getChangeSeq())
+                    .hasMore(false)
+                    .resetRequired(true)
+                    .build();
+        }
+
+        // Archived tasks are the tombstones of the sync, so the soft-delete filter is lifted.
+        // Fetch one extra row to know whether there are more changes without a count query.
+        List<Task> rows = softDeleteVisibility.includingArchived(
+                () -> taskRepository.findChangesSince(projectId, watermark, Limit.of(pageSize + 1)));
+        boolean hasMore = rows.size() > pageSize;
+        List<Task> changes = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return TaskChangesResponseDTO.builder()
+                .projectId(projectId)
+                .changes(changes.stream().map(taskMapper::toTaskDTO).toList())
+                .watermark(changes.isEmpty() ? watermark : changes.get(changes.size() - 1).getChangeSeq())
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public TaskResponseDTO getTaskById(Long id) {
@@ -105,11 +213,15 @@ public class TaskServiceImpl implements TaskService{
         // Authorization check: A user can update a task if they are the project owner or an admin.
         securityUtils.checkOwnershipOrAdmin(task.getProject(), currentUser);
 
+        TaskCounter countedIn = TaskCounter.of(task);
         task.setTitle(taskDTO.getTitle());
         task.setDescription(taskDTO.getDescription());
         task.setCompleted(taskDTO.isCompleted());
+        recordChange(task, countedIn);
 
-        return taskMapper.toTaskDTO(taskRepository.save(task));
+        Task updatedTask = taskRepository.save(task);
+        publishChange(ProjectChangeEvent.Type.TASK_UPDATED, updatedTask);
+        return taskMapper.toTaskDTO(updatedTask);
     }
 
     @Override
@@ -121,30 +233,115 @@ public class TaskServiceImpl implements TaskService{
         // Authorization check: A user can archive a task if they are the project owner or an admin.
         securityUtils.checkOwnershipOrAdmin(task.getProject(), currentUser);
 
+        TaskCounter countedIn = TaskCounter.of(task);
         task.setStatus(Status.ARCHIVED);
+        task.setArchivedAt(LocalDateTime.now());
+        recordChange(task, countedIn);
         taskRepository.save(task);
+        publishChange(ProjectChangeEvent.Type.TASK_ARCHIVED, task);
     }
 
     @Override
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public void hardDeleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Task not found with id: " + id);
-        }
-        taskRepository.deleteById(id);
+        Task task = findTaskByIdOrThrow(id);
+        TaskCounter countedIn = TaskCounter.of(task);
+        long changeSeq = projectRepository.recordTaskDeletion(task.getProject().getId(), -1,
+                counterDelta(countedIn, null, TaskCounter.OPEN),
+                counterDelta(countedIn, null, TaskCounter.COMPLETED),
+                counterDelta(countedIn, null, TaskCounter.ARCHIVED));
+        taskRepository.delete(task);
+        eventPublisher.publishEvent(ProjectChangeEvent.ofTask(
+                ProjectChangeEvent.Type.TASK_DELETED, task.getProject().getId(), id, changeSeq));
     }
 
     @Override
     @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN')")
     public Page<TaskResponseDTO> findAllTasksForAdmin(Pageable pageable) {
-        Session session = entityManager.unwrap(Session.class);
-        session.disableFilter("activeStatusFilter"); // Desactivamos el filtro
+        return softDeleteVisibility.includingArchived(() -> {
+            Page<Task> taskPage = taskRepository.findAll(pageable);
+            return taskPage.map(taskMapper::toTaskDTO);
+        });
+    }
 
-        Page<Task> taskPage = taskRepository.findAll(pageable);
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Page<Map<String, Object>> findAllTaskFieldsForAdmin(Pageable pageable, String fields) {
+        List<String> selected = TASK_FIELDS.parse(fields);
+        return softDeleteVisibility.includingArchived(
+                () -> sparseFieldsetQuery.findAll(TASK_FIELDS, selected, null, pageable));
+    }
 
-        return taskPage.map(taskMapper::toTaskDTO);
+    /**
+     * Validates the requested sort of a task listing and applies a stable default.
+     * Unsorted pages are ordered by ID so that consecutive pages never overlap.
+     *
+     * @param pageable The pagination information requested by the client.
+     * @return The same page request, sorted by ID when no sort was requested.
+     * @throws BadRequestException if the client asks to sort by an unsupported property.
+     */
+    private Pageable withSupportedSort(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        if (pageable.getSort().isUnsorted()) {
+            return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), DEFAULT_SORT);
+        }
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new BadRequestException("Tasks cannot be sorted by '" + order.getProperty()
+                        + "'. Supported properties: " + String.join(", ", SORTABLE_PROPERTIES.stream().sorted().toList()));
+            }
+        }
+        return pageable;
+    }
+
+    /**
+     * Takes the next change sequence value of the task's project and moves the task between the
+     * project's task counters, in one statement on the project row.
+     *
+     * @param task The changed task, already carrying its new state.
+     * @param countedIn The counter the task was counted in before the change; null for a new task.
+     */
+    private void recordChange(Task task, TaskCounter countedIn) {
+        TaskCounter countedInNow = TaskCounter.of(task);
+        task.setChangeSeq(projectRepository.recordTaskChange(task.getProject().getId(),
+                countedIn == null ? 1 : 0,
+                counterDelta(countedIn, countedInNow, TaskCounter.OPEN),
+                counterDelta(countedIn, countedInNow, TaskCounter.COMPLETED),
+                counterDelta(countedIn, countedInNow, TaskCounter.ARCHIVED)));
+    }
+
+    private static int counterDelta(TaskCounter before, TaskCounter after, TaskCounter counter) {
+        return (after == counter ? 1 : 0) - (before == counter ? 1 : 0);
+    }
+
+    /**
+     * The project task counter a task is counted in, besides the total.
+     */
+    private enum TaskCounter {
+        OPEN, COMPLETED, ARCHIVED;
+
+        static TaskCounter of(Task task) {
+            if (task.getStatus() == Status.ARCHIVED) {
+                return ARCHIVED;
+            }
+            return task.isCompleted() ? COMPLETED : OPEN;
+        }
+    }
+
+    /**
+     * Notifies the project's change stream subscribers once the current transaction commits.
+     *
+     * @param type The kind of change.
+     * @param task The changed task, carrying the change sequence value it just took.
+     */
+    private void publishChange(ProjectChangeEvent.Type type, Task task) {
+        eventPublisher.publishEvent(ProjectChangeEvent.ofTask(
+                type, task.getProject().getId(), task.getId(), task.getChangeSeq()));
     }
 
     /**
@@ -0,0 +1,265 @@
+package com.juancasterba.taskflow_api.stats;
+
+import com.juancasterba.taskflow_api.dto.PlatformStatsResponseDTO;
+import com.juancasterba.taskflow_api.dto.PlatformStatsResponseDTO.DailyGrowth;
+import com.juancasterba.taskflow_api.dto.PlatformStatsResponseDTO.OwnerActivity;
+import com.juancasterba.taskflow_api.throttling.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Platform statistics for the admin dashboard, computed by a handful of aggregate queries and
+ * served from memory.
+ * <p>
+ * The snapshot is recomputed every {@code refresh-interval}. Requests always get the current
+ * snapshot right away; one older than {@code max-age} (because a refresh failed or was deferred)
+ * is still served, and a refresh is started in the background (stale-while-revalidate). Only the
+ * very first request of an instance waits for the queries. Refreshes run in read-only
+ * transactions, which go to a replica when one is configured, and are deferred while the API is
+ * busy, judged by the utilization of the adaptive concurrency limit. Task counts are read from the
+ * counters stored on the projects; only the per-day growth and the most active owners read task
+ * rows, and only those created within the window.
+ */
+@Slf4j
+@Component
+public class PlatformStatsCache {
+
+    private static final String USERS_SQL = "SELECT role, count(*) AS users FROM users GROUP BY role";
+    private static final String PROJECTS_SQL = """
+            SELECT status, count(*) AS projects, sum(total_tasks) AS total, sum(open_tasks) AS open,
+                   sum(completed_tasks) AS completed, sum(archived_tasks) AS archived
+            FROM projects
+            GROUP BY status""";
+    private static final String MOST_ACTIVE_OWNERS_SQL = """
+            SELECT u.username, count(*) AS tasks_created, count(DISTINCT t.project_id) AS projects
+            FROM tasks t
+            JOIN projects p ON p.id = t.project_id
+            JOIN users u ON u.id = p.owner_id
+            WHERE t.created_at >= ?
+            GROUP BY u.username
+            ORDER BY tasks_created DESC, u.username
+            LIMIT ?""";
+    private static final String DAILY_GROWTH_SQL = """
+            WITH days AS (
+                SELECT generate_series(?::date, ?::date, interval '1 day')::date AS day
+            ), projects_per_day AS (
+                SELECT created_at::date AS day, count(*) AS created FROM projects
+                WHERE created_at >= ?
+                GROUP BY 1
+            ), tasks_per_day AS (
+                SELECT created_at::date AS day, count(*) AS created FROM tasks
+                WHERE created_at >= ?
+                GROUP BY 1
+            )
+            SELECT days.day, coalesce(p.created, 0) AS new_projects, coalesce(t.created, 0) AS new_tasks
+            FROM days
+            LEFT JOIN projects_per_day p ON p.day = days.day
+            LEFT JOIN tasks_per_day t ON t.day = days.day
+            ORDER BY days.day""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Duration maxAge;
+    private final int windowDays;
+    private final int topOwners;
+    private final double pauseAboveUtilization;
+    private final ExecutorService revalidator =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("stats-revalidate-"));
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final Counter staleHits;
+    private final Counter deferredRefreshes;
+    private final Timer refreshTimer;
+
+    private volatile PlatformStatsResponseDTO snapshot;
+
+    public PlatformStatsCache(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            MeterRegistry meterRegistry,
+            @Value("${taskflow.admin-stats.max-age:10m}") Duration maxAge,
+            @Value("${taskflow.admin-stats.window-days:30}") int windowDays,
+            @Value("${taskflow.admin-stats.top-owners:10}") int topOwners,
+            @Value("${taskflow.admin-stats.pause-above-utilization:0.5}") double pauseAboveUtilization,
+            @Value("${taskflow.admin-stats.query-timeout:30s}") Duration queryTimeout
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout((int) queryTimeout.toSeconds());
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.maxAge = maxAge;
+        this.windowDays = windowDays;
+        this.topOwners = topOwners;
+        this.pauseAboveUtilization = pauseAboveUtilization;
+
+        Gauge.builder("taskflow.admin.stats.age", this, cache -> cache.ageSeconds())
+                .description("Age of the cached platform statistics")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.staleHits = Counter.builder("taskflow.admin.stats.stale")
+                .description("Requests served statistics older than the maximum age")
+                .register(meterRegistry);
+        this.deferredRefreshes = Counter.builder("taskflow.admin.stats.deferred")
+                .description("Refreshes of the platform statistics deferred because the API was busy")
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("taskflow.admin.stats.refresh")
+                .description("Time taken to compute the platform statistics")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached statistics, starting a background refresh if they are older than the
+     * maximum age. Computes them on the spot only if there are none yet.
+     */
+    public PlatformStatsResponseDTO get() {
+        PlatformStatsResponseDTO current = snapshot;
+        if (current == null) {
+            return loadFirst();
+        }
+        if (isStale(current)) {
+            staleHits.increment();
+            revalidate();
+        }
+        return current;
+    }
+
+    /**
+     * How long a response with the given statistics may be reused by the client.
+     */
+    public Duration remainingFreshness(PlatformStatsResponseDTO stats) {
+        Duration remaining = maxAge.minus(Duration.between(stats.getGeneratedAt(), Instant.now()));
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    public Duration maxAge() {
+        return maxAge;
+    }
+
+    @Scheduled(fixedDelayString = "${taskflow.admin-stats.refresh-interval:5m}",
+            initialDelayString = "${taskflow.admin-stats.refresh-interval:5m}")
+    public void refresh() {
+        if (refreshing.compareAndSet(false, true)) {
+            refreshClaimed();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        revalidator.shutdownNow();
+    }
+
+    // Concurrent first requests share a single computation.
+    private synchronized PlatformStatsResponseDTO loadFirst() {
+        if (snapshot == null) {
+            snapshot = load();
+        }
+        return snapshot;
+    }
+
+    // The flag is claimed before submitting, so a burst of stale hits queues a single refresh.
+    private void revalidate() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            revalidator.execute(this::refreshClaimed);
+        } catch (RejectedExecutionException e) {
+            // Shutting down.
+            refreshing.set(false);
+        }
+    }
+
+    // Runs with the refreshing flag claimed by the caller, and releases it.
+    private void refreshClaimed() {
+        try {
+            if (concurrencyLimiter.utilization() >= pauseAboveUtilization) {
+                deferredRefreshes.increment();
+                log.debug("API under load, deferring the platform statistics refresh");
+                return;
+            }
+            snapshot = load();
+        } catch (RuntimeException e) {
+            log.warn("Platform statistics refresh failed, serving the previous ones: {}", e.getMessage(), e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private PlatformStatsResponseDTO load() {
+        return refreshTimer.record(() -> readOnlyTransaction.execute(status -> query()));
+    }
+
+    private PlatformStatsResponseDTO query() {
+        PlatformStatsResponseDTO.PlatformStatsResponseDTOBuilder stats = PlatformStatsResponseDTO.builder()
+                .generatedAt(Instant.now())
+                .windowDays(windowDays);
+
+        Map<String, Long> usersByRole = new LinkedHashMap<>();
+        jdbcTemplate.query(USERS_SQL, resultSet -> {
+            usersByRole.put(resultSet.getString("role"), resultSet.getLong("users"));
+        });
+        stats.usersByRole(usersByRole)
+                .totalUsers(usersByRole.values().stream().mapToLong(Long::longValue).sum());
+
+        Map<String, Long> projectsByStatus = new LinkedHashMap<>();
+        long[] tasks = new long[4];
+        jdbcTemplate.query(PROJECTS_SQL, resultSet -> {
+            projectsByStatus.put(resultSet.getString("status"), resultSet.getLong("projects"));
+            tasks[0] += resultSet.getLong("total");
+            tasks[1] += resultSet.getLong("open");
+            tasks[2] += resultSet.getLong("completed");
+            tasks[3] += resultSet.getLong("archived");
+        });
+        stats.projectsByStatus(projectsByStatus)
+                .totalProjects(projectsByStatus.values().stream().mapToLong(Long::longValue).sum())
+                .totalTasks(tasks[0])
+                .openTasks(tasks[1])
+                .completedTasks(tasks[2])
+                .archivedTasks(tasks[3]);
+
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusDays(windowDays - 1L);
+        stats.mostActiveOwners(jdbcTemplate.query(MOST_ACTIVE_OWNERS_SQL,
+                (resultSet, rowNum) -> new OwnerActivity(resultSet.getString("username"),
+                        resultSet.getLong("tasks_created"), resultSet.getLong("projects")),
+                firstDay.atStartOfDay(), topOwners));
+        stats.dailyGrowth(jdbcTemplate.query(DAILY_GROWTH_SQL,
+                (resultSet, rowNum) -> new DailyGrowth(resultSet.getObject("day", LocalDate.class),
+                        resultSet.getLong("new_projects"), resultSet.getLong("new_tasks")),
+                firstDay, today, firstDay.atStartOfDay(), firstDay.atStartOfDay()));
+        return stats.build();
+    }
+
+    private boolean isStale(PlatformStatsResponseDTO stats) {
+        return stats.getGeneratedAt().plus(maxAge).isBefore(Instant.now());
+    }
+
+    private double ageSeconds() {
+        PlatformStatsResponseDTO current = snapshot;
+        return current == null ? 0 : Duration.between(current.getGeneratedAt(), Instant.now()).toMillis() / 1000.0;
+    }
+}
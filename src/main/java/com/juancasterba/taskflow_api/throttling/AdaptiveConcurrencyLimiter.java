@@ -0,0 +1,132 @@
+package com.juancasterba.taskflow_api.throttling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the number of requests in flight with a limit that adapts to the observed latency,
+ * using the gradient algorithm popularised by Netflix's concurrency-limits:
+ * <pre>
+ *   gradient = clamp(tolerance * noLoadLatency / latency, 0.5, 1)
+ *   newLimit = limit * gradient + sqrt(limit)
+ * </pre>
+ * While latency stays close to the no-load latency the limit grows by roughly its square
+ * root per sample; once requests start queueing (in Tomcat, or for a Hikari connection)
+ * latency goes up and the limit shrinks towards what the system actually sustains.
+ * <p>
+ * Acquiring is a compare-and-set on the in-flight counter. Plain reads may only use
+ * {@code read-share} of the limit, so under overload they are shed first and writes,
+ * authentication and admin requests keep getting through.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrencyLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final long probeIntervalNanos;
+    private final Map<RouteClass, Counter> rejected = new EnumMap<>(RouteClass.class);
+
+    private volatile int limit;
+    // Guarded by this; only touched when a sample is recorded.
+    private double estimatedLimit;
+    private long noLoadLatencyNanos;
+    private long nextProbeNanos;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limit = properties.initialLimit();
+        this.estimatedLimit = properties.initialLimit();
+        this.probeIntervalNanos = properties.probeInterval().toNanos();
+        this.nextProbeNanos = System.nanoTime() + probeIntervalNanos;
+
+        for (RouteClass routeClass : RouteClass.values()) {
+            rejected.put(routeClass, Counter.builder("taskflow.concurrency.rejected")
+                    .description("Requests shed because the concurrency limit was reached")
+                    .tag("route_class", routeClass.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("taskflow.concurrency.limit", this, limiter -> limiter.limit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("taskflow.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Requests currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserves a slot for a request.
+     *
+     * @param routeClass The route class of the request, which decides its share of the limit.
+     * @return {@code true} if the request may proceed; it must then call {@link #release}.
+     */
+    public boolean tryAcquire(RouteClass routeClass) {
+        if (!properties.enabled()) {
+            return true;
+        }
+        int capacity = routeClass == RouteClass.READ
+                ? Math.max(1, (int) (limit * properties.readShare()))
+                : limit;
+        while (true) {
+            int current = inFlight.get();
+            if (current >= capacity) {
+                rejected.get(routeClass).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of a finished request.
+     *
+     * @param latencyNanos How long the request took, or a negative value to free the slot
+     *                     without using the request as a latency sample.
+     */
+    public void release(long latencyNanos) {
+        if (!properties.enabled()) {
+            return;
+        }
+        int inFlightAtEnd = inFlight.getAndDecrement();
+        if (latencyNanos > 0) {
+            onSample(latencyNanos, inFlightAtEnd);
+        }
+    }
+
+    /**
+     * @return In-flight requests relative to the current limit; 0 when limiting is disabled.
+     *         Background jobs use it to back off while the API is busy.
+     */
+    public double utilization() {
+        return properties.enabled() ? (double) inFlight.get() / limit : 0;
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtEnd) {
+        long now = System.nanoTime();
+        if (now - nextProbeNanos >= 0) {
+            noLoadLatencyNanos = 0;
+            nextProbeNanos = now + probeIntervalNanos;
+        }
+        if (noLoadLatencyNanos == 0 || latencyNanos < noLoadLatencyNanos) {
+            noLoadLatencyNanos = latencyNanos;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, properties.tolerance() * noLoadLatencyNanos / latencyNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        // Only grow when the limit is actually being used, otherwise it would drift up
+        // during quiet periods and offer no protection when a burst arrives.
+        if (inFlightAtEnd < estimatedLimit / 2) {
+            newLimit = Math.min(newLimit, estimatedLimit);
+        }
+        double smoothed = estimatedLimit * (1 - properties.smoothing()) + newLimit * properties.smoothing();
+        estimatedLimit = Math.max(properties.minLimit(), Math.min(smoothed, properties.maxLimit()));
+        limit = (int) estimatedLimit;
+    }
+}
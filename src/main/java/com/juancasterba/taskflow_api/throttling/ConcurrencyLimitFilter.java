@@ -0,0 +1,80 @@
+package com.juancasterba.taskflow_api.throttling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juancasterba.taskflow_api.dto.ErrorResponseDTO;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Sheds load with an immediate 503 once the {@link AdaptiveConcurrencyLimiter} is full,
+ * instead of letting requests queue in Tomcat until the connection pool times out.
+ * It runs ahead of the security filter chain so rejected requests cost no token parsing
+ * or user lookup. Actuator endpoints are never limited, so the service stays observable
+ * while overloaded.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!limiter.tryAcquire(RouteClass.of(request))) {
+            reject(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean sample = false;
+        try {
+            filterChain.doFilter(request, response);
+            // Async responses (event streams) release their slot when the handler returns, but
+            // are not latency samples: that time says nothing about how long the response takes,
+            // so it says nothing about how loaded the server is. Errors are left out too: a
+            // rejected token or an unknown path answers in microseconds, and would otherwise
+            // drag the no-load latency down until every normal request looks congested.
+            sample = !request.isAsyncStarted() && response.getStatus() < 400;
+        } finally {
+            limiter.release(sample ? System.nanoTime() - start : -1);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .message("The server is overloaded. Please retry shortly.")
+                .path(request.getRequestURI())
+                .build();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
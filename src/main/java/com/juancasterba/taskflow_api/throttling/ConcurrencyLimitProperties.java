@@ -0,0 +1,55 @@
+package com.juancasterba.taskflow_api.throttling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the adaptive concurrency limit, bound from {@code taskflow.concurrency-limit.*}.
+ *
+ * @param enabled       Whether in-flight requests are limited at all.
+ * @param initialLimit  Concurrency limit used until latency samples are available.
+ * @param minLimit      Lower bound of the limit, so the service never stops accepting work.
+ * @param maxLimit      Upper bound of the limit; no point in going past the server threads.
+ * @param readShare     Fraction of the limit that plain reads may use; the rest is kept for
+ *                      writes, authentication and admin requests.
+ * @param tolerance     How much slower than the no-load latency requests may get before the
+ *                      limit starts shrinking (2.0 = twice as slow).
+ * @param smoothing     Weight of each new estimate in the limit (0-1); lower reacts slower.
+ * @param probeInterval How often the no-load latency is forgotten and measured again, so the
+ *                      limit follows changes in the workload or the database.
+ */
+@ConfigurationProperties("taskflow.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        boolean enabled,
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        double readShare,
+        double tolerance,
+        double smoothing,
+        Duration probeInterval
+) {
+
+    public ConcurrencyLimitProperties {
+        if (minLimit <= 0) {
+            minLimit = 4;
+        }
+        if (maxLimit < minLimit) {
+            maxLimit = Math.max(minLimit, 200);
+        }
+        initialLimit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+        if (readShare <= 0 || readShare > 1) {
+            readShare = 0.8;
+        }
+        if (tolerance < 1) {
+            tolerance = 2.0;
+        }
+        if (smoothing <= 0 || smoothing > 1) {
+            smoothing = 0.2;
+        }
+        if (probeInterval == null) {
+            probeInterval = Duration.ofSeconds(30);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.juancasterba.taskflow_api.throttling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juancasterba.taskflow_api.dto.ErrorResponseDTO;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests over the client's rate limit with 429 and a {@code Retry-After} header.
+ * It runs right after {@code JwtAuthenticationFilter}, so authenticated requests are limited
+ * per user and everything else (including the authentication endpoints) per client IP.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        RouteClass routeClass = RouteClass.of(request);
+        long waitNanos = rateLimiter.tryAcquire(routeClass, client(request, routeClass));
+        if (waitNanos > 0) {
+            reject(request, response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String client(HttpServletRequest request, RouteClass routeClass) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (routeClass != RouteClass.AUTH && authentication != null && authentication.isAuthenticated()) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message("Rate limit exceeded. Retry after " + retryAfterSeconds + " seconds.")
+                .path(request.getRequestURI())
+                .build();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
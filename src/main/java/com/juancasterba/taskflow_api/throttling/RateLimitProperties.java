@@ -0,0 +1,54 @@
+package com.juancasterba.taskflow_api.throttling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Rate limits per {@link RouteClass}, bound from {@code taskflow.rate-limit.*}.
+ *
+ * @param enabled       Whether requests are rate limited at all.
+ * @param limits        Bucket size and refill rate of each route class.
+ * @param sweepInterval How often buckets that have refilled completely are evicted.
+ * @param maxBuckets    Upper bound on the number of tracked clients; once reached, new clients
+ *                      of a route class share a single overflow bucket until the next sweep.
+ */
+@ConfigurationProperties("taskflow.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        Map<RouteClass, Limit> limits,
+        Duration sweepInterval,
+        int maxBuckets
+) {
+
+    public RateLimitProperties {
+        limits = limits != null ? new EnumMap<>(limits) : new EnumMap<>(RouteClass.class);
+        if (sweepInterval == null) {
+            sweepInterval = Duration.ofMinutes(1);
+        }
+        if (maxBuckets <= 0) {
+            maxBuckets = 100_000;
+        }
+    }
+
+    /**
+     * Both values must be greater than 0; the application does not start otherwise.
+     *
+     * @param capacity        Maximum burst of requests, i.e. the size of the bucket.
+     * @param refillPerSecond Sustained number of requests per second.
+     */
+    public record Limit(int capacity, double refillPerSecond) {
+
+        public Limit {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Rate limit capacity must be greater than 0, got " + capacity);
+            }
+            // Also rejects NaN, which would slip past a plain <= 0 check.
+            if (!(refillPerSecond > 0)) {
+                throw new IllegalArgumentException("Rate limit refill-per-second must be greater than 0, got " + refillPerSecond);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.juancasterba.taskflow_api.throttling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one {@link TokenBucket} per client and route class.
+ * Memory stays bounded: buckets that have refilled completely carry no state and are evicted
+ * every {@code sweep-interval} by whichever request notices the sweep is due, and past
+ * {@code max-buckets} new clients share an overflow bucket per route class.
+ */
+@Component
+public class RateLimiter {
+
+    private static final String OVERFLOW_CLIENT = "overflow";
+
+    private final RateLimitProperties properties;
+    private final Map<RouteClass, BucketSettings> settings = new EnumMap<>(RouteClass.class);
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep;
+    private final long sweepIntervalNanos;
+    private final Map<RouteClass, Counter> allowed = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> rejected = new EnumMap<>(RouteClass.class);
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sweepIntervalNanos = properties.sweepInterval().toNanos();
+        this.nextSweep = new AtomicLong(System.nanoTime() + sweepIntervalNanos);
+        properties.limits().forEach((routeClass, limit) -> settings.put(routeClass, new BucketSettings(
+                (long) (TimeUnit.SECONDS.toNanos(1) / limit.refillPerSecond()),
+                (long) (limit.capacity() * TimeUnit.SECONDS.toNanos(1) / limit.refillPerSecond()))));
+
+        for (RouteClass routeClass : RouteClass.values()) {
+            allowed.put(routeClass, requestCounter(meterRegistry, routeClass, "allowed"));
+            rejected.put(routeClass, requestCounter(meterRegistry, routeClass, "rejected"));
+        }
+        Gauge.builder("taskflow.ratelimit.buckets", buckets, Map::size)
+                .description("Clients currently tracked by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token from the client's bucket for the given route class.
+     *
+     * @param routeClass The route class of the request.
+     * @param client     The user name, or the client IP for authentication endpoints.
+     * @return 0 if the request is allowed, otherwise the nanoseconds the client should wait.
+     */
+    public long tryAcquire(RouteClass routeClass, String client) {
+        BucketSettings bucketSettings = settings.get(routeClass);
+        if (!properties.enabled() || bucketSettings == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        sweepIfDue(now);
+
+        String key = routeClass.name() + ':' + client;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= properties.maxBuckets()) {
+                key = routeClass.name() + ':' + OVERFLOW_CLIENT;
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+        }
+
+        long wait = bucket.tryAcquire(now, bucketSettings.emissionInterval(), bucketSettings.burstTolerance());
+        (wait == 0 ? allowed : rejected).get(routeClass).increment();
+        return wait;
+    }
+
+    // A request racing with the sweep may still use an evicted bucket; at worst that client
+    // gets one extra request through, which is not worth a lock.
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due >= 0 && nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, RouteClass routeClass, String outcome) {
+        return Counter.builder("taskflow.ratelimit.requests")
+                .description("Requests checked by the rate limiter")
+                .tag("route_class", routeClass.name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record BucketSettings(long emissionInterval, long burstTolerance) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.juancasterba.taskflow_api.throttling;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Groups of endpoints that share a rate limit. Authentication endpoints are limited per
+ * client IP, since the caller is not known yet; the other classes are limited per user.
+ */
+public enum RouteClass {
+
+    AUTH,
+    READ,
+    WRITE,
+    ADMIN;
+
+    private static final String AUTH_PATH = "/api/v1/auth/";
+    private static final String ADMIN_PATH = "/api/v1/admin/";
+
+    /**
+     * @param request The incoming request.
+     * @return The route class of the request, based on its path and HTTP method.
+     */
+    public static RouteClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith(AUTH_PATH)) {
+            return AUTH;
+        }
+        if (path.startsWith(ADMIN_PATH)) {
+            return ADMIN;
+        }
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> READ;
+            default -> WRITE;
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package com.juancasterba.taskflow_api.throttling;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({RateLimitProperties.class, ConcurrencyLimitProperties.class})
+public class ThrottlingConfig {
+}
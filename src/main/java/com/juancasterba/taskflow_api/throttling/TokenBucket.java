@@ -0,0 +1,44 @@
+package com.juancasterba.taskflow_api.throttling;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented with the generic cell rate algorithm (GCRA).
+ * Instead of a token count and a refill timestamp, it only tracks the theoretical arrival
+ * time (TAT) of the next request, so acquiring is a single compare-and-set on one long.
+ * The bucket is full again, and can be forgotten, once the TAT is in the past.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrivalTime;
+
+    TokenBucket(long nowNanos) {
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param nowNanos          Current {@link System#nanoTime()}.
+     * @param emissionInterval  Nanoseconds it takes to refill one token.
+     * @param burstTolerance    Nanoseconds it takes to refill the whole bucket.
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available.
+     */
+    long tryAcquire(long nowNanos, long emissionInterval, long burstTolerance) {
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, nowNanos) + emissionInterval;
+            long wait = next - nowNanos - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isFull(long nowNanos) {
+        return theoreticalArrivalTime.get() <= nowNanos;
+    }
+}
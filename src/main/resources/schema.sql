@@ -0,0 +1,128 @@
+-- Índices que JPA no puede declarar con @Index (parciales o sobre expresiones).
+-- Se ejecuta después de que Hibernate crea/actualiza el esquema
+-- (spring.jpa.defer-datasource-initialization), por eso cada sentencia es idempotente.
+
+-- Tareas particionadas por estado: las ACTIVE viven en tasks_active y las ARCHIVED en
+-- tasks_archived, de modo que los índices de las tareas activas no crecen con el archivo y el
+-- predicado status = 'ACTIVE' de activeStatusFilter descarta la partición fría. Postgres mueve
+-- la fila de partición al cambiar el estado (archivar o restaurar).
+-- Hibernate crea tasks como tabla común; este bloque la convierte una sola vez (si ya está
+-- particionada no hace nada). El cuerpo va entre comillas simples porque los scripts de
+-- inicialización de Spring no entienden $$.
+DO '
+DECLARE
+    index_definitions text[];
+    foreign_keys record;
+    foreign_key_definitions text[] := ''{}'';
+    definition text;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass(''tasks'')) IS DISTINCT FROM ''r'' THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE tasks RENAME TO tasks_unpartitioned;
+    ALTER INDEX tasks_pkey RENAME TO tasks_unpartitioned_pkey;
+    CREATE TABLE tasks (LIKE tasks_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING IDENTITY)
+        PARTITION BY LIST (status);
+    ALTER TABLE tasks ALTER COLUMN status SET NOT NULL;
+    CREATE TABLE tasks_active PARTITION OF tasks FOR VALUES IN (''ACTIVE'');
+    CREATE TABLE tasks_archived PARTITION OF tasks FOR VALUES IN (''ARCHIVED'');
+
+    UPDATE tasks_unpartitioned SET status = ''ACTIVE'' WHERE status IS NULL;
+    INSERT INTO tasks SELECT * FROM tasks_unpartitioned;
+    PERFORM setval(pg_get_serial_sequence(''tasks'', ''id''), COALESCE((SELECT max(id) FROM tasks), 0) + 1, false);
+
+    SELECT array_agg(indexdef) INTO index_definitions
+    FROM pg_indexes
+    WHERE tablename = ''tasks_unpartitioned'' AND indexname <> ''tasks_unpartitioned_pkey'';
+    FOR foreign_keys IN
+        SELECT conname, pg_get_constraintdef(oid) AS condef
+        FROM pg_constraint
+        WHERE conrelid = ''tasks_unpartitioned''::regclass AND contype = ''f''
+    LOOP
+        foreign_key_definitions := foreign_key_definitions
+            || format(''ALTER TABLE tasks ADD CONSTRAINT %I %s'', foreign_keys.conname, foreign_keys.condef);
+    END LOOP;
+    DROP TABLE tasks_unpartitioned;
+
+    ALTER TABLE tasks ADD CONSTRAINT tasks_pkey PRIMARY KEY (id, status);
+    FOREACH definition IN ARRAY foreign_key_definitions LOOP
+        EXECUTE definition;
+    END LOOP;
+    FOREACH definition IN ARRAY COALESCE(index_definitions, ''{}'') LOOP
+        EXECUTE replace(definition, ''tasks_unpartitioned'', ''tasks'');
+    END LOOP;
+END';
+
+-- Tareas abiertas de un proyecto: sólo indexa las filas ACTIVE y no completadas,
+-- que son las que pide el listado filtrado con completed=false.
+CREATE INDEX IF NOT EXISTS idx_tasks_project_open
+    ON tasks (project_id, id)
+    WHERE status = 'ACTIVE' AND completed = false;
+
+-- Búsqueda por prefijo de título sin distinguir mayúsculas (lower(title) LIKE 'abc%').
+CREATE INDEX IF NOT EXISTS idx_tasks_project_title_prefix
+    ON tasks (project_id, lower(title) text_pattern_ops)
+    WHERE status = 'ACTIVE';
+
+-- Proyectos activos de un usuario (listado por owner y bandeja de tareas abiertas).
+CREATE INDEX IF NOT EXISTS idx_projects_owner_active
+    ON projects (owner_id, id)
+    WHERE status = 'ACTIVE';
+
+-- Filas archivadas antes de que existiera archived_at: las tareas toman su última
+-- modificación y los proyectos (sin timestamps) la fecha de esta migración.
+UPDATE tasks SET archived_at = COALESCE(updated_at, now())
+    WHERE status = 'ARCHIVED' AND archived_at IS NULL;
+UPDATE projects SET archived_at = now()
+    WHERE status = 'ARCHIVED' AND archived_at IS NULL;
+
+-- Recorrido por keyset (archived_at, id) del job de retención sobre las filas archivadas.
+CREATE INDEX IF NOT EXISTS idx_tasks_archived_at
+    ON tasks (archived_at, id)
+    WHERE status = 'ARCHIVED';
+
+CREATE INDEX IF NOT EXISTS idx_projects_archived_at
+    ON projects (archived_at, id)
+    WHERE status = 'ARCHIVED';
+
+-- Tareas anteriores a change_seq (valor 0): se numeran por proyecto a continuación del último
+-- valor de la secuencia del proyecto, para que una sincronización desde 0 las incluya.
+WITH numbered AS (
+    SELECT t.id, t.status,
+           p.change_seq + row_number() OVER (PARTITION BY t.project_id ORDER BY t.id) AS change_seq
+    FROM tasks t
+    JOIN projects p ON p.id = t.project_id
+    WHERE t.change_seq = 0
+)
+UPDATE tasks t SET change_seq = numbered.change_seq
+    FROM numbered
+    WHERE t.id = numbered.id AND t.status = numbered.status;
+UPDATE projects p SET change_seq = last_change.change_seq
+    FROM (SELECT project_id, max(change_seq) AS change_seq FROM tasks GROUP BY project_id) last_change
+    WHERE last_change.project_id = p.id AND p.change_seq < last_change.change_seq;
+
+-- Contadores de tareas de los proyectos creados antes de que existieran: se calculan una sola
+-- vez para los proyectos con tareas y contadores en 0. Las desviaciones posteriores las corrige
+-- el job de reconciliación.
+UPDATE projects p SET total_tasks = c.total, open_tasks = c.open,
+                      completed_tasks = c.completed, archived_tasks = c.archived
+    FROM (SELECT project_id,
+                 count(*) AS total,
+                 count(*) FILTER (WHERE status = 'ACTIVE' AND NOT completed) AS open,
+                 count(*) FILTER (WHERE status = 'ACTIVE' AND completed) AS completed,
+                 count(*) FILTER (WHERE status = 'ARCHIVED') AS archived
+          FROM tasks
+          -- Sólo las tareas de esos proyectos, para no recorrer toda la tabla en cada arranque.
+          WHERE project_id IN (SELECT id FROM projects WHERE total_tasks = 0)
+          GROUP BY project_id) c
+    WHERE c.project_id = p.id AND p.total_tasks = 0;
+
+-- Rangos por fecha de creación de las estadísticas de administración (crecimiento por día y
+-- dueños más activos). BRIN: ocupa unas pocas páginas y casi no encarece los inserts, porque
+-- created_at crece con el orden de inserción.
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_brin
+    ON tasks USING brin (created_at);
+
+CREATE INDEX IF NOT EXISTS idx_projects_created_at_brin
+    ON projects USING brin (created_at);
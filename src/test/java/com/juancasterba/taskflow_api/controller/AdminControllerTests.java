@@ -0,0 +1,59 @@
+package com.juancasterba.taskflow_api.controller;
+
+import com.juancasterba.taskflow_api.dto.PlatformStatsResponseDTO;
+import com.juancasterba.taskflow_api.security.service.provisioning.UserProvisioningService;
+import com.juancasterba.taskflow_api.service.ProjectService;
+import com.juancasterba.taskflow_api.service.TaskService;
+import com.juancasterba.taskflow_api.stats.PlatformStatsCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdminControllerTests {
+
+    private final PlatformStatsCache platformStatsCache = mock(PlatformStatsCache.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new AdminController(
+            mock(ProjectService.class), mock(TaskService.class), mock(UserProvisioningService.class), platformStatsCache))
+            .build();
+
+    @Test
+    void statsMayBeReusedPrivatelyForTheirRemainingFreshness() throws Exception {
+        PlatformStatsResponseDTO stats = PlatformStatsResponseDTO.builder()
+                .generatedAt(Instant.now().minus(Duration.ofMinutes(4)))
+                .totalUsers(3)
+                .build();
+        when(platformStatsCache.get()).thenReturn(stats);
+        when(platformStatsCache.remainingFreshness(stats)).thenReturn(Duration.ofMinutes(6));
+        when(platformStatsCache.maxAge()).thenReturn(Duration.ofMinutes(10));
+
+        mockMvc.perform(get("/api/v1/admin/stats"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=360, private, stale-while-revalidate=600"))
+                .andExpect(jsonPath("$.totalUsers").value(3));
+    }
+
+    @Test
+    void staleStatsMustBeRevalidatedRightAway() throws Exception {
+        PlatformStatsResponseDTO stats = PlatformStatsResponseDTO.builder()
+                .generatedAt(Instant.now().minus(Duration.ofMinutes(12)))
+                .build();
+        when(platformStatsCache.get()).thenReturn(stats);
+        when(platformStatsCache.remainingFreshness(stats)).thenReturn(Duration.ZERO);
+        when(platformStatsCache.maxAge()).thenReturn(Duration.ofMinutes(10));
+
+        mockMvc.perform(get("/api/v1/admin/stats"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=0, private, stale-while-revalidate=600"));
+    }
+}
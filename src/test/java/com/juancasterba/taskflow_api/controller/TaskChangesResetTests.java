@@ -0,0 +1,127 @@
+package com.juancasterba.taskflow_api.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.juancasterba.taskflow_api.model.Project;
+import com.juancasterba.taskflow_api.repository.ProjectRepository;
+import com.juancasterba.taskflow_api.security.model.Role;
+import com.juancasterba.taskflow_api.security.model.User;
+import com.juancasterba.taskflow_api.security.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A hard delete leaves no tombstone, so a client that synchronized before it must be told to
+ * start over instead of keeping the deleted task forever.
+ */
+@SpringBootTest(properties = {
+        "jwt.secret.key=5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437",
+        "spring.admin.username=admin",
+        "spring.admin.password=admin-password",
+        "spring.admin.email=admin@example.com"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskChangesResetTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private User owner;
+    private User admin;
+    private Project project;
+
+    @BeforeAll
+    void seed() {
+        owner = new User();
+        owner.setUsername("sync-owner");
+        owner.setEmail("sync-owner@example.com");
+        owner.setPassword("not-used");
+        owner.setRole(Role.USER);
+        owner = userRepository.save(owner);
+        admin = userRepository.findByRole(Role.ADMIN).orElseThrow();
+
+        Project newProject = new Project();
+        newProject.setName("Synced project");
+        newProject.setOwner(owner);
+        project = projectRepository.save(newProject);
+    }
+
+    @Test
+    void aWatermarkFromBeforeAHardDeleteMustStartOver() throws Exception {
+        long deleted = createTask("Deleted later");
+        long kept = createTask("Kept");
+        long watermark = changesSince(0);
+
+        mockMvc.perform(delete("/api/v1/admin/tasks/{id}/hard-delete", deleted).with(user(admin)))
+                .andExpect(status().isNoContent());
+
+        // The full sync the client falls back to does not see the deleted task either.
+        mockMvc.perform(get("/api/v1/projects/{id}/tasks/changes", project.getId())
+                        .param("since", "0").with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].id").value(kept));
+        String reset = mockMvc.perform(get("/api/v1/projects/{id}/tasks/changes", project.getId())
+                        .param("since", String.valueOf(watermark)).with(user(owner)))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.resetRequired").value(true))
+                .andExpect(jsonPath("$.changes", hasSize(0)))
+                .andExpect(jsonPath("$.watermark").value(watermark + 1))
+                .andReturn().getResponse().getContentAsString();
+
+        // After reloading, the client continues from the watermark of the reset and gets later changes.
+        long created = createTask("Created after the reset");
+        mockMvc.perform(get("/api/v1/projects/{id}/tasks/changes", project.getId())
+                        .param("since", String.valueOf(JsonPath.<Number>read(reset, "$.watermark"))).with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resetRequired").value(false))
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].id").value(created));
+    }
+
+    private long createTask(String title) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/projects/{id}/tasks", project.getId()).with(user(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"" + title + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.<Number>read(body, "$.id").longValue();
+    }
+
+    private long changesSince(long since) throws Exception {
+        String body = mockMvc.perform(get("/api/v1/projects/{id}/tasks/changes", project.getId())
+                        .param("since", String.valueOf(since)).with(user(owner)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.<Number>read(body, "$.watermark").longValue();
+    }
+}
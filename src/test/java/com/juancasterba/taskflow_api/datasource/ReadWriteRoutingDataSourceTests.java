@@ -0,0 +1,178 @@
+package com.juancasterba.taskflow_api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Routes against two independent PostgreSQL instances, one playing the primary and one the
+ * replica. There is no replication between them: every instance has a {@code node} table
+ * naming it, so each test can tell where a statement ran.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReadWriteRoutingDataSourceTests {
+
+    @Container
+    static PostgreSQLContainer<?> primaryDatabase = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static PostgreSQLContainer<?> replicaDatabase = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private ReadWriteRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeAll
+    static void nameNodes() {
+        name(primaryDatabase, "primary");
+        name(replicaDatabase, "replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndTheRestToThePrimary() {
+        route(pool("replica-1", replicaDatabase.getJdbcUrl()), Duration.ofSeconds(5));
+
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("replica");
+        assertThat(nodeIn(writeTransaction)).isEqualTo("primary");
+        assertThat(currentNode()).isEqualTo("primary");
+        assertThat(routed("replica", "read")).isEqualTo(1);
+    }
+
+    @Test
+    void readsOfAUserStayOnThePrimaryRightAfterTheirWrite() {
+        route(pool("replica-1", replicaDatabase.getJdbcUrl()), Duration.ofSeconds(30));
+
+        authenticate("alice");
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("primary");
+
+        authenticate("bob");
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("replica");
+        assertThat(routed("primary", "sticky")).isEqualTo(1);
+    }
+
+    @Test
+    void stickinessEndsAfterTheWindow() throws InterruptedException {
+        route(pool("replica-1", replicaDatabase.getJdbcUrl()), Duration.ofMillis(100));
+
+        authenticate("alice");
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+        Thread.sleep(200);
+
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaIsDown() {
+        // Nothing listens on this port.
+        route(pool("replica-1", "jdbc:postgresql://localhost:1/taskflow"), Duration.ofSeconds(5));
+
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("primary");
+        assertThat(replicaHealthy()).isZero();
+        // Marked unhealthy, so the next read does not wait for the replica again.
+        assertThat(nodeIn(readOnlyTransaction)).isEqualTo("primary");
+        assertThat(routed("primary", "fallback")).isEqualTo(2);
+
+        routingDataSource.checkReplicas();
+        assertThat(replicaHealthy()).isZero();
+    }
+
+    @Test
+    void connectionsWithExplicitCredentialsAreNotSupported() {
+        route(pool("replica-1", replicaDatabase.getJdbcUrl()), Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> routingDataSource.getConnection("postgres", "postgres"))
+                .isInstanceOf(SQLFeatureNotSupportedException.class);
+    }
+
+    private void route(HikariDataSource replica, Duration stickinessWindow) {
+        meterRegistry = new SimpleMeterRegistry();
+        HikariDataSource primary = pool("primary", primaryDatabase.getJdbcUrl());
+        routingDataSource = new ReadWriteRoutingDataSource(primary, List.of(replica),
+                new ReplicaRoutingProperties(List.of(), stickinessWindow, null, null), meterRegistry);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    private HikariDataSource pool(String name, String jdbcUrl) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(jdbcUrl);
+        pool.setUsername(primaryDatabase.getUsername());
+        pool.setPassword(primaryDatabase.getPassword());
+        pool.setMaximumPoolSize(2);
+        pool.setConnectionTimeout(1000);
+        pool.setValidationTimeout(500);
+        pool.setInitializationFailTimeout(-1);
+        pools.add(pool);
+        return pool;
+    }
+
+    private String nodeIn(TransactionTemplate transaction) {
+        return transaction.execute(status -> currentNode());
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("taskflow.datasource.routed").tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    private double replicaHealthy() {
+        return meterRegistry.get("taskflow.datasource.replica.healthy").gauge().value();
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null, "ROLE_USER"));
+    }
+
+    private static void name(PostgreSQLContainer<?> database, String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(database.getJdbcUrl());
+        dataSource.setUsername(database.getUsername());
+        dataSource.setPassword(database.getPassword());
+        try (dataSource) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("CREATE TABLE node (name text NOT NULL)");
+            jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        }
+    }
+}
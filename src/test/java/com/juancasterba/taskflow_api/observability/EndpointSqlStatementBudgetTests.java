@@ -0,0 +1,125 @@
+package com.juancasterba.taskflow_api.observability;
+
+import com.juancasterba.taskflow_api.model.Project;
+import com.juancasterba.taskflow_api.model.Task;
+import com.juancasterba.taskflow_api.repository.ProjectRepository;
+import com.juancasterba.taskflow_api.repository.TaskRepository;
+import com.juancasterba.taskflow_api.security.model.Role;
+import com.juancasterba.taskflow_api.security.model.User;
+import com.juancasterba.taskflow_api.security.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static com.juancasterba.taskflow_api.observability.SqlStatementCountMatchers.statementCountAtMost;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the number of SQL statements executed by the read endpoints, so a change that
+ * introduces extra queries (typically an N+1 on a lazy association) fails the build.
+ * The budgets are for the fixture below: {@value #PROJECTS} projects of {@value #TASKS_PER_PROJECT} tasks.
+ */
+@SpringBootTest(properties = {
+        "taskflow.sql.expose-count-header=true",
+        "jwt.secret.key=5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437",
+        "spring.admin.username=admin",
+        "spring.admin.password=admin-password",
+        "spring.admin.email=admin@example.com"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointSqlStatementBudgetTests {
+
+    private static final int PROJECTS = 3;
+    private static final int TASKS_PER_PROJECT = 5;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User owner;
+    private Project project;
+    private Task task;
+
+    @BeforeAll
+    void seed() {
+        owner = new User();
+        owner.setUsername("budget-owner");
+        owner.setEmail("budget-owner@example.com");
+        owner.setPassword("not-used");
+        owner.setRole(Role.USER);
+        owner = userRepository.save(owner);
+
+        for (int p = 0; p < PROJECTS; p++) {
+            Project newProject = new Project();
+            newProject.setName("Project " + p);
+            newProject.setOwner(owner);
+            project = projectRepository.save(newProject);
+            for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                Task newTask = new Task();
+                newTask.setTitle("Task " + t);
+                newTask.setProject(project);
+                task = taskRepository.save(newTask);
+            }
+        }
+    }
+
+    @Test
+    void listProjects() throws Exception {
+        // User lookup, project page and one task collection per project (known N+1 in ProjectMapper).
+        mockMvc.perform(get("/api/v1/projects").with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(statementCountAtMost(2 + PROJECTS));
+    }
+
+    @Test
+    void getProject() throws Exception {
+        mockMvc.perform(get("/api/v1/projects/{id}", project.getId()).with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(statementCountAtMost(3));
+    }
+
+    @Test
+    void listProjectTasks() throws Exception {
+        mockMvc.perform(get("/api/v1/projects/{id}/tasks", project.getId()).with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(statementCountAtMost(3));
+    }
+
+    @Test
+    void getTask() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()).with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(statementCountAtMost(3));
+    }
+
+    @Test
+    void inbox() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/inbox").with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(statementCountAtMost(2));
+    }
+}
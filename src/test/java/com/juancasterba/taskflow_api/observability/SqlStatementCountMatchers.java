@@ -0,0 +1,34 @@
+package com.juancasterba.taskflow_api.observability;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers on the number of SQL statements a request executed, as reported by
+ * {@link SqlStatementBudgetFilter} in the {@value SqlStatementBudgetFilter#STATEMENT_COUNT_HEADER}
+ * header. The application context under test must run with {@code taskflow.sql.expose-count-header=true}.
+ */
+public final class SqlStatementCountMatchers {
+
+    private SqlStatementCountMatchers() {
+    }
+
+    /**
+     * Fails when the request executed more than {@code max} SQL statements.
+     *
+     * @param max The maximum number of statements the endpoint is allowed to execute.
+     */
+    public static ResultMatcher statementCountAtMost(int max) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementBudgetFilter.STATEMENT_COUNT_HEADER);
+            assertThat(header)
+                    .as("%s header (is taskflow.sql.expose-count-header enabled?)", SqlStatementBudgetFilter.STATEMENT_COUNT_HEADER)
+                    .isNotNull();
+            assertThat(Integer.parseInt(header))
+                    .as("SQL statements executed by %s %s",
+                            result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                    .isLessThanOrEqualTo(max);
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.juancasterba.taskflow_api.repository;
+
+import com.juancasterba.taskflow_api.exception.BadRequestException;
+import com.juancasterba.taskflow_api.model.Project;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SparseFieldsetTests {
+
+    private final SparseFieldset<Project> fieldset = SparseFieldset.of(Project.class)
+            .attributes("id", "name")
+            .field("ownerUsername", root -> root.join("owner").get("username"))
+            .sortable("id", "name")
+            .build();
+
+    @Test
+    void parsesTheRequestedFieldsInOrderWithoutDuplicates() {
+        assertThat(fieldset.parse(" name, id ,name,")).containsExactly("name", "id");
+    }
+
+    @Test
+    void rejectsUnknownAndEmptyFieldLists() {
+        assertThatThrownBy(() -> fieldset.parse("id,owner"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("'owner'");
+        assertThatThrownBy(() -> fieldset.parse(" , "))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void acceptsSortsByDeclaredProperties() {
+        assertThatCode(() -> fieldset.checkSort(Sort.by(Sort.Order.desc("name"), Sort.Order.asc("id"))))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> fieldset.checkSort(Sort.unsorted())).doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsSortsByUndeclaredPropertiesAndNestedPaths() {
+        assertThatThrownBy(() -> fieldset.checkSort(Sort.by("ownerUsername")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> fieldset.checkSort(Sort.by("owner.password")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("'owner.password'");
+        assertThatThrownBy(() -> fieldset.checkSort(Sort.by("doesNotExist")))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,312 @@
+package com.juancasterba.taskflow_api.retention;
+
+import com.juancasterba.taskflow_api.dto.events.PurgeEventDTO;
+import com.juancasterba.taskflow_api.dto.events.PurgeEventDTO.EntityType;
+import com.juancasterba.taskflow_api.events.TaskEventPublisher;
+import com.juancasterba.taskflow_api.model.Project;
+import com.juancasterba.taskflow_api.model.Status;
+import com.juancasterba.taskflow_api.model.Task;
+import com.juancasterba.taskflow_api.repository.ProjectRepository;
+import com.juancasterba.taskflow_api.repository.TaskRepository;
+import com.juancasterba.taskflow_api.security.model.Role;
+import com.juancasterba.taskflow_api.security.model.User;
+import com.juancasterba.taskflow_api.security.repository.UserRepository;
+import com.juancasterba.taskflow_api.throttling.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the purge against the real schema (partitioned tasks table, task counters) with a tiny
+ * chunk size, so every run goes through several keyset chunks. Kafka and the API load are
+ * replaced by mocks.
+ */
+@SpringBootTest(properties = {
+        "jwt.secret.key=5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437",
+        "spring.admin.username=admin",
+        "spring.admin.password=admin-password",
+        "spring.admin.email=admin@example.com"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArchivePurgeJobTests {
+
+    private static final int CHUNK_SIZE = 2;
+    private static final String PURGE_TOPIC = "tasks-purged";
+    private static final LocalDateTime LONG_AGO = LocalDateTime.now().minusDays(200);
+    private static final LocalDateTime RECENTLY = LocalDateTime.now().minusDays(1);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User owner;
+    private long lastChangeSeq;
+    private TaskEventPublisher taskEventPublisher;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private SimpleMeterRegistry meterRegistry;
+    private ArchivePurgeJob job;
+
+    @BeforeAll
+    void createOwner() {
+        owner = new User();
+        owner.setUsername("purge-owner");
+        owner.setEmail("purge-owner@example.com");
+        owner.setPassword("not-used");
+        owner.setRole(Role.USER);
+        owner = userRepository.save(owner);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE tasks, projects CASCADE");
+        taskEventPublisher = mock(TaskEventPublisher.class);
+        concurrencyLimiter = mock(AdaptiveConcurrencyLimiter.class);
+        meterRegistry = new SimpleMeterRegistry();
+        doReturn(CompletableFuture.completedFuture(null))
+                .when(taskEventPublisher).publish(any(PurgeEventDTO.class), eq(PURGE_TOPIC));
+        job = job(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void purgesOldArchivedTasksChunkByChunkAndKeepsTheRest() {
+        Project project = project(Status.ACTIVE, null);
+        // Ties on archived_at span chunk boundaries; the keyset must not skip any of them.
+        List<Long> old = List.of(
+                task(project, Status.ARCHIVED, LONG_AGO).getId(),
+                task(project, Status.ARCHIVED, LONG_AGO).getId(),
+                task(project, Status.ARCHIVED, LONG_AGO).getId(),
+                task(project, Status.ARCHIVED, LONG_AGO.plusHours(1)).getId(),
+                task(project, Status.ARCHIVED, LONG_AGO.plusHours(1)).getId());
+        Task recent = task(project, Status.ARCHIVED, RECENTLY);
+        Task active = task(project, Status.ACTIVE, null);
+        recount();
+
+        job.purge();
+
+        assertThat(taskIds()).containsExactlyInAnyOrder(recent.getId(), active.getId());
+        assertThat(purgedIds(EntityType.TASK)).containsExactlyInAnyOrderElementsOf(old);
+        assertThat(purged("task")).isEqualTo(5);
+        assertThat(counters(project)).containsEntry("total_tasks", 2L).containsEntry("open_tasks", 1L)
+                .containsEntry("archived_tasks", 1L);
+    }
+
+    @Test
+    void raisesTheSyncFloorToTheNewestPurgedTombstone() {
+        Project project = project(Status.ACTIVE, null);
+        task(project, Status.ARCHIVED, LONG_AGO);
+        Task newestPurged = task(project, Status.ARCHIVED, LONG_AGO.plusHours(1));
+        task(project, Status.ARCHIVED, RECENTLY);
+
+        job.purge();
+
+        // A client past the newest purged tombstone has seen them all and may go on.
+        assertThat(syncFloor(project)).isEqualTo(newestPurged.getChangeSeq());
+    }
+
+    @Test
+    void purgesOldArchivedProjectsWithAllTheirTasks() {
+        Project archived = project(Status.ARCHIVED, LONG_AGO);
+        for (int i = 0; i < 3; i++) {
+            task(archived, Status.ACTIVE, null);
+        }
+        task(archived, Status.ARCHIVED, RECENTLY);
+        Project recentlyArchived = project(Status.ARCHIVED, RECENTLY);
+        task(recentlyArchived, Status.ACTIVE, null);
+
+        job.purge();
+
+        assertThat(projectIds()).containsExactly(recentlyArchived.getId());
+        assertThat(taskIds()).hasSize(1);
+        assertThat(purgedIds(EntityType.PROJECT)).containsExactly(archived.getId());
+        assertThat(purged("task")).isEqualTo(4);
+        assertThat(purged("project")).isEqualTo(1);
+    }
+
+    @Test
+    void keepsAProjectThatGotATaskAfterItsTasksWerePurged() {
+        Project project = project(Status.ARCHIVED, LONG_AGO);
+        task(project, Status.ACTIVE, null);
+        // The task arrives once the old ones are gone, right before the project is deleted.
+        Task[] lateTask = new Task[1];
+        doAnswer(invocation -> {
+            PurgeEventDTO event = invocation.getArgument(0);
+            if (event.getEntityType() == EntityType.TASK && lateTask[0] == null) {
+                lateTask[0] = task(project, Status.ACTIVE, null);
+            }
+            return CompletableFuture.completedFuture(null);
+        }).when(taskEventPublisher).publish(any(PurgeEventDTO.class), eq(PURGE_TOPIC));
+
+        job.purge();
+
+        assertThat(projectIds()).containsExactly(project.getId());
+        assertThat(taskIds()).containsExactly(lateTask[0].getId());
+        assertThat(purged("project")).isZero();
+        assertThat(purgedIds(EntityType.PROJECT)).isEmpty();
+        // Its active tasks are gone without a tombstone: every earlier watermark is unusable.
+        assertThat(syncFloor(project)).isPositive()
+                .isEqualTo(jdbcTemplate.queryForObject("SELECT change_seq FROM projects WHERE id = ?", Long.class, project.getId()));
+    }
+
+    @Test
+    void waitsWhileTheApiIsBusy() {
+        Project project = project(Status.ACTIVE, null);
+        task(project, Status.ARCHIVED, LONG_AGO);
+        when(concurrencyLimiter.utilization()).thenReturn(0.9, 0.7, 0.1);
+
+        job.purge();
+
+        assertThat(meterRegistry.get("taskflow.retention.pauses").counter().count()).isEqualTo(2);
+        assertThat(taskIds()).isEmpty();
+    }
+
+    @Test
+    void stopsWhenTheProducerRejectsTheEvents() {
+        archivedTasks(3 * CHUNK_SIZE);
+        doThrow(new IllegalStateException("Topic metadata not available"))
+                .when(taskEventPublisher).publish(any(PurgeEventDTO.class), eq(PURGE_TOPIC));
+
+        job.purge();
+
+        // The chunk whose events failed is gone; the run stops before the next one.
+        assertThat(taskIds()).hasSize(2 * CHUNK_SIZE);
+    }
+
+    @Test
+    void stopsWhenTheBrokerNacksTheEvents() {
+        archivedTasks(3 * CHUNK_SIZE);
+        doReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker not available")))
+                .when(taskEventPublisher).publish(any(PurgeEventDTO.class), eq(PURGE_TOPIC));
+
+        job.purge();
+
+        assertThat(taskIds()).hasSize(2 * CHUNK_SIZE);
+    }
+
+    @Test
+    void stopsWhenTheBrokerDoesNotAcknowledgeTheEventsInTime() {
+        archivedTasks(3 * CHUNK_SIZE);
+        doReturn(new CompletableFuture<>())
+                .when(taskEventPublisher).publish(any(PurgeEventDTO.class), eq(PURGE_TOPIC));
+        job = job(Duration.ofMillis(100));
+
+        job.purge();
+
+        assertThat(taskIds()).hasSize(2 * CHUNK_SIZE);
+    }
+
+    private ArchivePurgeJob job(Duration publishTimeout) {
+        return new ArchivePurgeJob(jdbcTemplate, taskEventPublisher, concurrencyLimiter,
+                new RetentionProperties(true, Duration.ofDays(90), Duration.ofHours(1), CHUNK_SIZE,
+                        1_000_000, 0.5, Duration.ofMillis(10), true, PURGE_TOPIC, publishTimeout),
+                meterRegistry);
+    }
+
+    private void archivedTasks(int count) {
+        Project project = project(Status.ACTIVE, null);
+        for (int i = 0; i < count; i++) {
+            task(project, Status.ARCHIVED, LONG_AGO);
+        }
+    }
+
+    private Project project(Status status, LocalDateTime archivedAt) {
+        Project project = new Project();
+        project.setName("Project");
+        project.setOwner(owner);
+        project.setStatus(status);
+        project.setArchivedAt(archivedAt);
+        return projectRepository.save(project);
+    }
+
+    private Task task(Project project, Status status, LocalDateTime archivedAt) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setProject(project);
+        task.setStatus(status);
+        task.setArchivedAt(archivedAt);
+        task.setChangeSeq(++lastChangeSeq);
+        return taskRepository.save(task);
+    }
+
+    // The tasks are saved through the repository, which leaves the counters to the service.
+    private void recount() {
+        jdbcTemplate.update("""
+                UPDATE projects p SET total_tasks = c.total, open_tasks = c.open,
+                                      completed_tasks = c.completed, archived_tasks = c.archived
+                FROM (SELECT project_id, count(*) AS total,
+                             count(*) FILTER (WHERE status = 'ACTIVE' AND NOT completed) AS open,
+                             count(*) FILTER (WHERE status = 'ACTIVE' AND completed) AS completed,
+                             count(*) FILTER (WHERE status = 'ARCHIVED') AS archived
+                      FROM tasks GROUP BY project_id) c
+                WHERE c.project_id = p.id""");
+    }
+
+    private List<Long> taskIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM tasks", Long.class);
+    }
+
+    private List<Long> projectIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM projects", Long.class);
+    }
+
+    private Map<String, Object> counters(Project project) {
+        return jdbcTemplate.queryForMap(
+                "SELECT total_tasks, open_tasks, completed_tasks, archived_tasks FROM projects WHERE id = ?", project.getId());
+    }
+
+    private long syncFloor(Project project) {
+        return jdbcTemplate.queryForObject("SELECT sync_floor FROM projects WHERE id = ?", Long.class, project.getId());
+    }
+
+    private List<Long> purgedIds(EntityType entityType) {
+        ArgumentCaptor<PurgeEventDTO> events = ArgumentCaptor.forClass(PurgeEventDTO.class);
+        verify(taskEventPublisher, atLeastOnce()).publish(events.capture(), eq(PURGE_TOPIC));
+        return events.getAllValues().stream()
+                .filter(event -> event.getEntityType() == entityType)
+                .map(PurgeEventDTO::getId)
+                .toList();
+    }
+
+    private double purged(String entity) {
+        return meterRegistry.get("taskflow.retention.purged").tag("entity", entity).counter().count();
+    }
+}
@@ -0,0 +1,79 @@
+package com.juancasterba.taskflow_api.security.service.token;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTests {
+
+    private static final int PROBES = 100_000;
+
+    @Test
+    void containsEveryElementPut() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        String[] ids = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID().toString()).toArray(String[]::new);
+
+        for (String id : ids) {
+            filter.put(id);
+        }
+
+        assertThat(ids).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        assertThat(filter.mightContain("jti-1")).isFalse();
+        assertThat(filter.mightContain("")).isFalse();
+    }
+
+    @Test
+    void keepsTheFalsePositiveRateWhenFilledToCapacity() {
+        BloomFilter filter = filled(10_000, 0.01);
+
+        // Some slack over the configured rate, as the estimate is a random sample.
+        assertThat(falsePositiveRate(filter)).isLessThan(0.015);
+    }
+
+    @Test
+    void lowerFalsePositiveRatesUseMoreBits() {
+        assertThat(falsePositiveRate(filled(10_000, 0.001))).isLessThan(0.002);
+    }
+
+    @Test
+    void overfilledFilterDegradesPastTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        assertThat(falsePositiveRate(filter)).isGreaterThan(0.1);
+    }
+
+    @Test
+    void capacityIsAtLeastOne() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+        filter.put("jti-1");
+
+        assertThat(filter.capacity()).isEqualTo(1);
+        assertThat(filter.mightContain("jti-1")).isTrue();
+    }
+
+    private static BloomFilter filled(int capacity, double falsePositiveRate) {
+        BloomFilter filter = new BloomFilter(capacity, falsePositiveRate);
+        for (int i = 0; i < capacity; i++) {
+            filter.put("revoked-" + i);
+        }
+        return filter;
+    }
+
+    // Probes ids that were never put, so every hit is a false positive.
+    private static double falsePositiveRate(BloomFilter filter) {
+        long hits = IntStream.range(0, PROBES).filter(i -> filter.mightContain("other-" + i)).count();
+        return (double) hits / PROBES;
+    }
+}
@@ -0,0 +1,125 @@
+package com.juancasterba.taskflow_api.security.service.token;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juancasterba.taskflow_api.security.dto.LoginResponseDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Refresh token rotation through the API: presenting a refresh token that was already
+ * exchanged revokes every token of its session, on both sides of the rotation.
+ */
+@SpringBootTest(properties = {
+        // More logins than the per-IP limit of the authentication endpoints allows.
+        "taskflow.rate-limit.enabled=false",
+        "jwt.secret.key=5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437",
+        "spring.admin.username=admin",
+        "spring.admin.password=admin-password",
+        "spring.admin.email=admin@example.com"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RefreshTokenReuseTests {
+
+    private static final String PASSWORD = "refresh-password";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void registerUsers() throws Exception {
+        register("rotating-user");
+        register("other-user");
+    }
+
+    @Test
+    void rotationIssuesAWorkingTokenPair() throws Exception {
+        LoginResponseDTO login = login("rotating-user");
+
+        LoginResponseDTO rotated = tokens(refresh(login.getRefreshToken()).andExpect(status().isOk()));
+
+        listProjects(rotated.getToken()).andExpect(status().isOk());
+        refresh(rotated.getRefreshToken()).andExpect(status().isOk());
+    }
+
+    @Test
+    void reusingARotatedRefreshTokenRevokesTheWholeFamily() throws Exception {
+        LoginResponseDTO login = login("rotating-user");
+        LoginResponseDTO rotated = tokens(refresh(login.getRefreshToken()).andExpect(status().isOk()));
+        LoginResponseDTO current = tokens(refresh(rotated.getRefreshToken()).andExpect(status().isOk()));
+        LoginResponseDTO otherSession = login("rotating-user");
+
+        // The first refresh token is replayed, e.g. by whoever copied it.
+        refresh(login.getRefreshToken()).andExpect(status().isUnauthorized());
+
+        // The legitimate holder loses the session too: its latest refresh token and every
+        // access token of the session stop working.
+        refresh(current.getRefreshToken()).andExpect(status().isUnauthorized());
+        listProjects(current.getToken()).andExpect(status().isUnauthorized());
+        listProjects(rotated.getToken()).andExpect(status().isUnauthorized());
+        listProjects(login.getToken()).andExpect(status().isUnauthorized());
+
+        // Other sessions, of the same user or not, are untouched.
+        listProjects(otherSession.getToken()).andExpect(status().isOk());
+        refresh(otherSession.getRefreshToken()).andExpect(status().isOk());
+        listProjects(login("other-user").getToken()).andExpect(status().isOk());
+    }
+
+    private void register(String username) throws Exception {
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Credentials(username, username + "@example.com", PASSWORD))))
+                .andExpect(status().isCreated());
+    }
+
+    private LoginResponseDTO login(String username) throws Exception {
+        return tokens(mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Credentials(username, null, PASSWORD))))
+                .andExpect(status().isOk()));
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))));
+    }
+
+    private ResultActions listProjects(String accessToken) throws Exception {
+        return mockMvc.perform(get("/api/v1/projects").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken));
+    }
+
+    private LoginResponseDTO tokens(ResultActions result) throws Exception {
+        return objectMapper.readValue(result.andReturn().getResponse().getContentAsByteArray(), LoginResponseDTO.class);
+    }
+
+    private record Credentials(String username, String email, String password) {
+    }
+
+    private record RefreshRequest(String refreshToken) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.juancasterba.taskflow_api.stats;
+
+import com.juancasterba.taskflow_api.dto.PlatformStatsResponseDTO;
+import com.juancasterba.taskflow_api.throttling.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The statistics queries run against mocked JDBC objects that return no rows; what matters
+ * here is when the cache runs them, counted by the refresh timer.
+ */
+class PlatformStatsCacheTests {
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter = mock(AdaptiveConcurrencyLimiter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PlatformStatsCache cache;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void firstRequestComputesTheStatsAndTheNextOnesAreServedFromMemory() {
+        cache = cache(Duration.ofMinutes(10));
+
+        PlatformStatsResponseDTO first = cache.get();
+
+        assertThat(cache.get()).isSameAs(first);
+        assertThat(refreshes()).isEqualTo(1);
+        assertThat(staleHits()).isZero();
+    }
+
+    @Test
+    void servesStaleStatsRightAwayAndRefreshesThemOnceInTheBackground() throws InterruptedException {
+        cache = cache(Duration.ofMillis(50));
+        PlatformStatsResponseDTO first = cache.get();
+        Thread.sleep(100);
+
+        // The background refresh is held back until the whole burst has been served.
+        CountDownLatch burstServed = new CountDownLatch(1);
+        when(concurrencyLimiter.utilization()).thenAnswer(invocation -> {
+            burstServed.await();
+            return 0.0;
+        });
+        for (int i = 0; i < 50; i++) {
+            assertThat(cache.get()).isSameAs(first);
+        }
+        burstServed.countDown();
+
+        assertThat(staleHits()).isEqualTo(50);
+        awaitRefreshes(2);
+        Thread.sleep(300);
+        assertThat(refreshes()).isEqualTo(2);
+        assertThat(cache.get()).isNotSameAs(first);
+    }
+
+    @Test
+    void refreshIsDeferredWhileTheApiIsBusy() {
+        cache = cache(Duration.ofMinutes(10));
+        cache.get();
+
+        when(concurrencyLimiter.utilization()).thenReturn(0.9);
+        cache.refresh();
+        assertThat(deferred()).isEqualTo(1);
+        assertThat(refreshes()).isEqualTo(1);
+
+        when(concurrencyLimiter.utilization()).thenReturn(0.1);
+        cache.refresh();
+        assertThat(refreshes()).isEqualTo(2);
+    }
+
+    @Test
+    void failedRefreshKeepsTheCurrentStats() throws SQLException {
+        cache = cache(Duration.ofMinutes(10));
+        PlatformStatsResponseDTO first = cache.get();
+
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        cache.refresh();
+
+        assertThat(cache.get()).isSameAs(first);
+    }
+
+    @Test
+    void remainingFreshnessCountsDownToZero() {
+        cache = cache(Duration.ofMinutes(10));
+
+        Duration remaining = cache.remainingFreshness(statsGeneratedAt(Instant.now().minus(Duration.ofMinutes(4))));
+
+        assertThat(remaining).isBetween(Duration.ofMinutes(6).minusSeconds(5), Duration.ofMinutes(6));
+        assertThat(cache.remainingFreshness(statsGeneratedAt(Instant.now().minus(Duration.ofMinutes(11)))))
+                .isZero();
+    }
+
+    private PlatformStatsCache cache(Duration maxAge) {
+        return new PlatformStatsCache(dataSource, mock(PlatformTransactionManager.class), concurrencyLimiter,
+                meterRegistry, maxAge, 30, 10, 0.5, Duration.ofSeconds(30));
+    }
+
+    private static PlatformStatsResponseDTO statsGeneratedAt(Instant generatedAt) {
+        return PlatformStatsResponseDTO.builder().generatedAt(generatedAt).build();
+    }
+
+    private void awaitRefreshes(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (refreshes() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(refreshes()).isEqualTo(expected);
+    }
+
+    private long refreshes() {
+        return meterRegistry.get("taskflow.admin.stats.refresh").timer().count();
+    }
+
+    private double staleHits() {
+        return meterRegistry.get("taskflow.admin.stats.stale").counter().count();
+    }
+
+    private double deferred() {
+        return meterRegistry.get("taskflow.admin.stats.deferred").counter().count();
+    }
+}
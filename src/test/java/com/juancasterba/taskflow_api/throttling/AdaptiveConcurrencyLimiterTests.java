@@ -0,0 +1,130 @@
+package com.juancasterba.taskflow_api.throttling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void growsWhileLatencyStaysAtTheNoLoadLevelAndTheLimitIsUsed() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, Duration.ofMinutes(1));
+
+        for (int round = 0; round < 5; round++) {
+            int inFlight = fill(limiter, RouteClass.WRITE);
+            for (int i = 0; i < inFlight; i++) {
+                limiter.release(FAST);
+            }
+        }
+
+        assertThat(limit()).isGreaterThan(20);
+    }
+
+    @Test
+    void doesNotGrowWhileMostOfTheLimitIsUnused() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(limiter.tryAcquire(RouteClass.WRITE)).isTrue();
+            limiter.release(FAST);
+        }
+
+        assertThat(limit()).isEqualTo(20);
+    }
+
+    @Test
+    void shrinksToTheMinimumWhenLatencyGoesUpUnderLoad() {
+        AdaptiveConcurrencyLimiter limiter = limiter(100, Duration.ofMinutes(1));
+        assertThat(limiter.tryAcquire(RouteClass.WRITE)).isTrue();
+        limiter.release(FAST);
+
+        for (int round = 0; round < 20; round++) {
+            int inFlight = fill(limiter, RouteClass.WRITE);
+            for (int i = 0; i < inFlight; i++) {
+                limiter.release(SLOW);
+            }
+        }
+
+        assertThat(limit()).isEqualTo(4);
+    }
+
+    @Test
+    void forgetsTheNoLoadLatencyAfterTheProbeInterval() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(50, Duration.ofMillis(1));
+        assertThat(limiter.tryAcquire(RouteClass.WRITE)).isTrue();
+        limiter.release(FAST);
+        Thread.sleep(5);
+
+        // The first slow sample after the probe becomes the new baseline, so the same
+        // latency no longer counts as congestion.
+        int inFlight = fill(limiter, RouteClass.WRITE);
+        for (int i = 0; i < inFlight; i++) {
+            limiter.release(SLOW);
+        }
+
+        assertThat(limit()).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void keepsPartOfTheLimitForWritesWhenReadsFillTheirShare() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, Duration.ofMinutes(1));
+
+        assertThat(fill(limiter, RouteClass.READ)).isEqualTo(5);
+        assertThat(limiter.tryAcquire(RouteClass.READ)).isFalse();
+        assertThat(limiter.tryAcquire(RouteClass.WRITE)).isTrue();
+        assertThat(limiter.tryAcquire(RouteClass.AUTH)).isTrue();
+        assertThat(limiter.tryAcquire(RouteClass.ADMIN)).isTrue();
+        assertThat(limiter.utilization()).isEqualTo(0.8);
+        // Filling the share ended with a rejected read as well.
+        assertThat(meterRegistry.get("taskflow.concurrency.rejected").tag("route_class", "read").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("taskflow.concurrency.rejected").tag("route_class", "write").counter().count())
+                .isZero();
+    }
+
+    @Test
+    void releasingWithoutASampleLeavesTheLimitUnchanged() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, Duration.ofMinutes(1));
+        int inFlight = fill(limiter, RouteClass.WRITE);
+        for (int i = 0; i < inFlight; i++) {
+            limiter.release(-1);
+        }
+
+        assertThat(limit()).isEqualTo(10);
+        assertThat(limiter.utilization()).isZero();
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, Duration probeInterval) {
+        return new AdaptiveConcurrencyLimiter(
+                new ConcurrencyLimitProperties(true, initialLimit, 4, 200, 0.5, 2.0, 1.0, probeInterval),
+                meterRegistry);
+    }
+
+    private static int fill(AdaptiveConcurrencyLimiter limiter, RouteClass routeClass) {
+        int acquired = 0;
+        while (limiter.tryAcquire(routeClass)) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    private double limit() {
+        return meterRegistry.get("taskflow.concurrency.limit").gauge().value();
+    }
+}
@@ -0,0 +1,86 @@
+package com.juancasterba.taskflow_api.throttling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConcurrencyLimitFilterTests {
+
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+    private static final FilterChain UNAUTHORIZED =
+            (request, response) -> ((MockHttpServletResponse) response).setStatus(401);
+
+    private final AdaptiveConcurrencyLimiter limiter = mock(AdaptiveConcurrencyLimiter.class);
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, OBJECT_MAPPER);
+
+    @Test
+    void successfulResponsesAreLatencySamples() throws Exception {
+        when(limiter.tryAcquire(RouteClass.READ)).thenReturn(true);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), respondingAfter(1));
+
+        verify(limiter).release(longThat(latency -> latency > 0));
+    }
+
+    @Test
+    void errorResponsesFreeTheSlotWithoutASample() throws Exception {
+        when(limiter.tryAcquire(RouteClass.READ)).thenReturn(true);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), UNAUTHORIZED);
+
+        verify(limiter).release(-1);
+    }
+
+    @Test
+    void fastErrorsDoNotShrinkTheLimit() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter realLimiter = new AdaptiveConcurrencyLimiter(
+                new ConcurrencyLimitProperties(true, 10, 4, 200, 0.8, 2.0, 1.0, Duration.ofMinutes(1)), meterRegistry);
+        ConcurrencyLimitFilter realFilter = new ConcurrencyLimitFilter(realLimiter, OBJECT_MAPPER);
+
+        for (int i = 0; i < 100; i++) {
+            realFilter.doFilter(request(), new MockHttpServletResponse(), UNAUTHORIZED);
+        }
+        // A normal request after the flood of rejected tokens sets the baseline itself.
+        realFilter.doFilter(request(), new MockHttpServletResponse(), respondingAfter(5));
+
+        assertThat(meterRegistry.get("taskflow.concurrency.limit").gauge().value()).isEqualTo(10);
+    }
+
+    @Test
+    void rejectsWith503WhenTheLimitIsReached() throws Exception {
+        when(limiter.tryAcquire(RouteClass.READ)).thenReturn(false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, (req, res) -> {
+            throw new AssertionError("The request must not reach the chain");
+        });
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        verify(limiter, never()).release(anyLong());
+    }
+
+    private static FilterChain respondingAfter(long millis) {
+        return (request, response) -> LockSupport.parkNanos(millis * 1_000_000);
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/v1/projects");
+    }
+}
@@ -0,0 +1,75 @@
+package com.juancasterba.taskflow_api.throttling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitFilterTests {
+
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private final RateLimiter rateLimiter = mock(RateLimiter.class);
+    private final RateLimitFilter filter = new RateLimitFilter(rateLimiter, OBJECT_MAPPER);
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rejectsWith429AndRoundsRetryAfterUpToWholeSeconds() throws Exception {
+        when(rateLimiter.tryAcquire(any(), any())).thenReturn(TimeUnit.MILLISECONDS.toNanos(2100));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("GET", "/api/v1/projects"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("3");
+        assertThat(response.getContentAsString()).contains("Retry after 3 seconds");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void retryAfterIsAtLeastOneSecond() throws Exception {
+        when(rateLimiter.tryAcquire(any(), any())).thenReturn(1L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("GET", "/api/v1/projects"), response, new MockFilterChain());
+
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    void limitsAuthenticatedRequestsPerUserAndAuthenticationPerIp() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", null, "ROLE_USER"));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("POST", "/api/v1/projects"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("POST", "/api/v1/auth/login"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(chain.getRequest()).isNotNull();
+        verify(rateLimiter).tryAcquire(RouteClass.WRITE, "user:alice");
+        verify(rateLimiter).tryAcquire(RouteClass.AUTH, "ip:10.0.0.1");
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
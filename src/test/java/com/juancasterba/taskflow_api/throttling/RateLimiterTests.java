@@ -0,0 +1,98 @@
+package com.juancasterba.taskflow_api.throttling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTests {
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void limitsEachClientSeparately() {
+        RateLimiter rateLimiter = rateLimiter(new RateLimitProperties.Limit(2, 1), Duration.ofMinutes(1), 100);
+
+        assertThat(rateLimiter.tryAcquire(RouteClass.WRITE, "user:alice")).isZero();
+        assertThat(rateLimiter.tryAcquire(RouteClass.WRITE, "user:alice")).isZero();
+        long wait = rateLimiter.tryAcquire(RouteClass.WRITE, "user:alice");
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(rateLimiter.tryAcquire(RouteClass.WRITE, "user:bob")).isZero();
+        assertThat(requests("write", "rejected")).isEqualTo(1);
+        assertThat(requests("write", "allowed")).isEqualTo(3);
+    }
+
+    @Test
+    void routeClassesWithoutALimitAreNotLimited() {
+        RateLimiter rateLimiter = rateLimiter(new RateLimitProperties.Limit(1, 1), Duration.ofMinutes(1), 100);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire(RouteClass.READ, "user:alice")).isZero();
+        }
+        assertThat(buckets()).isZero();
+    }
+
+    @Test
+    void evictsBucketsOfIdleClientsOnTheNextSweep() throws InterruptedException {
+        // Refills completely in 1ms.
+        RateLimiter rateLimiter = rateLimiter(new RateLimitProperties.Limit(1, 1000), Duration.ofMillis(50), 100);
+        rateLimiter.tryAcquire(RouteClass.WRITE, "user:alice");
+        rateLimiter.tryAcquire(RouteClass.WRITE, "user:bob");
+        assertThat(buckets()).isEqualTo(2);
+
+        Thread.sleep(100);
+        rateLimiter.tryAcquire(RouteClass.WRITE, "user:carol");
+
+        assertThat(buckets()).isEqualTo(1);
+    }
+
+    @Test
+    void newClientsShareAnOverflowBucketPastTheMaximum() {
+        RateLimiter rateLimiter = rateLimiter(new RateLimitProperties.Limit(1, 1), Duration.ofMinutes(1), 1);
+        assertThat(rateLimiter.tryAcquire(RouteClass.WRITE, "user:alice")).isZero();
+
+        assertThat(rateLimiter.tryAcquire(RouteClass.WRITE, "user:bob")).isZero();
+        assertThat(rateLimiter.tryAcquire(RouteClass.WRITE, "user:carol")).isPositive();
+        assertThat(buckets()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsLimitsThatNeverRefill() {
+        assertThatThrownBy(() -> new RateLimitProperties.Limit(10, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("refill-per-second");
+        assertThatThrownBy(() -> new RateLimitProperties.Limit(10, Double.NaN))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RateLimitProperties.Limit(0, 5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("capacity");
+    }
+
+    private RateLimiter rateLimiter(RateLimitProperties.Limit writeLimit, Duration sweepInterval, int maxBuckets) {
+        return new RateLimiter(
+                new RateLimitProperties(true, Map.of(RouteClass.WRITE, writeLimit), sweepInterval, maxBuckets),
+                meterRegistry);
+    }
+
+    private double requests(String routeClass, String outcome) {
+        return meterRegistry.get("taskflow.ratelimit.requests")
+                .tag("route_class", routeClass).tag("outcome", outcome).counter().count();
+    }
+
+    private double buckets() {
+        return meterRegistry.get("taskflow.ratelimit.buckets").gauge().value();
+    }
+}
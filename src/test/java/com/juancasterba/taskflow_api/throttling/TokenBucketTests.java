@@ -0,0 +1,74 @@
+package com.juancasterba.taskflow_api.throttling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+    // 10 requests per second with a burst of 5.
+    private static final long EMISSION_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BURST_TOLERANCE = 5 * EMISSION_INTERVAL;
+    private static final long START = 1_000_000_000L;
+
+    private final TokenBucket bucket = new TokenBucket(START);
+
+    @Test
+    void allowsABurstOfTheCapacityAndThenRejects() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(acquireAt(START)).isZero();
+        }
+
+        assertThat(acquireAt(START)).isEqualTo(EMISSION_INTERVAL);
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        drain();
+
+        assertThat(acquireAt(START + EMISSION_INTERVAL / 2)).isEqualTo(EMISSION_INTERVAL / 2);
+        assertThat(acquireAt(START + EMISSION_INTERVAL)).isZero();
+        assertThat(acquireAt(START + EMISSION_INTERVAL)).isEqualTo(EMISSION_INTERVAL);
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        drain();
+        for (int i = 0; i < 10; i++) {
+            assertThat(acquireAt(START)).isPositive();
+        }
+
+        assertThat(acquireAt(START + EMISSION_INTERVAL)).isZero();
+    }
+
+    @Test
+    void isFullOnceTheWholeBucketHasRefilled() {
+        assertThat(bucket.isFull(START)).isTrue();
+        drain();
+
+        assertThat(bucket.isFull(START + BURST_TOLERANCE - 1)).isFalse();
+        assertThat(bucket.isFull(START + BURST_TOLERANCE)).isTrue();
+    }
+
+    @Test
+    void doesNotBankTokensBeyondTheCapacityWhileIdle() {
+        long later = START + TimeUnit.MINUTES.toNanos(1);
+        for (int i = 0; i < 5; i++) {
+            assertThat(acquireAt(later)).isZero();
+        }
+
+        assertThat(acquireAt(later)).isPositive();
+    }
+
+    private void drain() {
+        while (acquireAt(START) == 0) {
+            // Take every token of the burst.
+        }
+    }
+
+    private long acquireAt(long nowNanos) {
+        return bucket.tryAcquire(nowNanos, EMISSION_INTERVAL, BURST_TOLERANCE);
+    }
+}